@@ -0,0 +1,172 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core;
+
+import jakarta.annotation.Nonnull;
+import it.tidalwave.ui.function.PropagationScheduler;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/***************************************************************************************************************************************************************
+ *
+ * A {@link BoundProperty} specialised for {@code long} values, which are stored without boxing. Changes can be
+ * observed by a {@link Listener}, which receives primitive values: firing it doesn't allocate any object. Plain
+ * {@link java.beans.PropertyChangeListener}s are supported as well, but values are boxed and a
+ * {@link java.beans.PropertyChangeEvent} is created only if at least one of them is registered. A {@code null} value
+ * can't be set.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@EqualsAndHashCode(callSuper = false) @ToString
+public class BoundLongProperty extends PrimitiveBoundProperty<Long, BoundLongProperty.Listener>
+  {
+    /***********************************************************************************************************************************************************
+     * A listener of changes of a {@link BoundLongProperty}.
+     **********************************************************************************************************************************************************/
+    @FunctionalInterface
+    public static interface Listener
+      {
+        /*******************************************************************************************************************************************************
+         * Notifies that the value has changed.
+         *
+         * @param   oldValue    the old value
+         * @param   newValue    the new value
+         ******************************************************************************************************************************************************/
+        public void valueChanged (long oldValue, long newValue);
+      }
+
+    private long value;
+
+    /***********************************************************************************************************************************************************
+     * Creates a new instance with the value {@code 0}.
+     **********************************************************************************************************************************************************/
+    public BoundLongProperty()
+      {
+        this(0);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Creates a new instance with the given initial value.
+     *
+     * @param   value     the initial value
+     **********************************************************************************************************************************************************/
+    public BoundLongProperty (final long value)
+      {
+        this.value = value;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the value of this property}.
+     **********************************************************************************************************************************************************/
+    public long getLong()
+      {
+        return value;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Sets the value of this property. Listeners are notified only if the value changed.
+     *
+     * @param   value     the new value
+     **********************************************************************************************************************************************************/
+    public void setLong (final long value)
+      {
+        final var oldValue = this.value;
+        this.value = value;
+
+        if (oldValue != value)
+          {
+            if (PropertyBatch.isCollecting())
+              {
+                PropertyBatch.defer(this, oldValue, value);
+              }
+            else
+              {
+                fire(oldValue, value);
+              }
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public Long get()
+      {
+        return value;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    void setBoxed (@Nonnull final Long value)
+      {
+        setLong(value);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    void fireBatchedChange (final Object oldValue, final Object newValue)
+      {
+        fire((Long)oldValue, (Long)newValue);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Notifies listeners of a change.
+     **********************************************************************************************************************************************************/
+    private void fire (final long oldValue, final long newValue)
+      {
+        final var wave = PropagationScheduler.begin();
+
+        try
+          {
+            final var listeners = primitiveListeners();
+
+            for (final var entry : listeners.entries())
+              {
+                final var listener = listeners.resolve(entry);
+
+                if (listener != null)
+                  {
+                    listener.valueChanged(oldValue, newValue);
+                  }
+              }
+
+            if (hasListeners(PROP_VALUE))
+              {
+                firePropertyChange(PROP_VALUE, oldValue, newValue);
+              }
+          }
+        finally
+          {
+            PropagationScheduler.end(wave);
+          }
+      }
+  }
@@ -26,8 +26,12 @@
 package it.tidalwave.ui.core;
 
 import jakarta.annotation.Nonnull;
-import java.beans.PropertyChangeSupport;
+import java.beans.PropertyChangeListener;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import it.tidalwave.ui.core.role.Changeable;
+import it.tidalwave.ui.core.spi.ListenerRegistry;
+import it.tidalwave.ui.function.PropagationScheduler;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -40,12 +44,14 @@ import lombok.experimental.Delegate;
  * @author  Fabrizio Giudici
  *
  **************************************************************************************************************************************************************/
-// FIXME: weak listeners
-@AllArgsConstructor @NoArgsConstructor @EqualsAndHashCode(exclude="pcs") @ToString(exclude="pcs")
+@AllArgsConstructor @NoArgsConstructor @EqualsAndHashCode(exclude={"listeners", "weakBindings"}) @ToString(exclude={"listeners", "weakBindings"})
 public class BoundProperty<T> implements ChangingSource<T>, Changeable<T>
   {
     @Delegate
-    private final transient PropertyChangeSupport pcs = new PropertyChangeSupport(this);
+    private final transient ListenerRegistry listeners = new ListenerRegistry(this);
+
+    /** The listeners registered by {@link #bindWeakly(ChangingSource)}, strongly referenced by this object. */
+    private final transient List<PropertyChangeListener> weakBindings = new CopyOnWriteArrayList<>();
 
     public static final String PROP_VALUE = "value";
 
@@ -74,7 +80,58 @@ public class BoundProperty<T> implements ChangingSource<T>, Changeable<T>
       {
         final var oldValue = this.value;
         this.value = value;
-        pcs.firePropertyChange(PROP_VALUE, oldValue, value);
+
+        if (PropertyBatch.isCollecting())
+          {
+            PropertyBatch.defer(this, oldValue, value);
+          }
+        else
+          {
+            fire(oldValue, value);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Runs a task in a batch: changes of {@code BoundProperty} values made by the task in the current thread are not
+     * notified immediately, but when the task completes, with a single event per property carrying the first old
+     * value and the last new value. Batches can be nested: notifications are delivered at the end of the outermost one.
+     *
+     * @param     task      the task
+     * @see       PropertyBatch
+     * @since     2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public static void batch (@Nonnull final Runnable task)
+      {
+        PropertyBatch.run(task);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Notifies a change that has been deferred by a batch.
+     *
+     * @param     oldValue  the first old value in the batch
+     * @param     newValue  the last new value in the batch
+     **********************************************************************************************************************************************************/
+    void fireBatchedChange (final Object oldValue, final Object newValue)
+      {
+        fire(oldValue, newValue);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Notifies listeners of a change in a wave of {@link PropagationScheduler}, so bound functions depending on this
+     * property are recomputed in a glitch-free way.
+     **********************************************************************************************************************************************************/
+    private void fire (final Object oldValue, final Object newValue)
+      {
+        final var wave = PropagationScheduler.begin();
+
+        try
+          {
+            listeners.firePropertyChange(PROP_VALUE, oldValue, newValue);
+          }
+        finally
+          {
+            PropagationScheduler.end(wave);
+          }
       }
 
     /***********************************************************************************************************************************************************
@@ -100,20 +157,47 @@ public class BoundProperty<T> implements ChangingSource<T>, Changeable<T>
         if (source instanceof Changeable)
           {
             final var changeable = (Changeable<T>)source;
-            changeable.set(value);
+            changeable.set(get());
+            this.addPropertyChangeListener(event -> changeable.set((T)event.getNewValue()));
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Binds this property to a {@link ChangingSource} as {@link #bind(ChangingSource)} does, but the source only keeps
+     * a weak reference to the listener that updates this property, which is instead kept by this object. In this way
+     * the source doesn't prevent this property, and whatever references it, from being garbage collected. Note that
+     * if the source is a {@link Changeable}, this property keeps a strong reference to it.
+     *
+     * @param     source    the source
+     * @since     2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public void bindWeakly (@Nonnull final ChangingSource<T> source)
+      {
+        final PropertyChangeListener listener = event -> set((T)event.getNewValue());
+        weakBindings.add(listener);
+        source.addWeakPropertyChangeListener(listener);
+
+        if (source instanceof Changeable)
+          {
+            final var changeable = (Changeable<T>)source;
+            changeable.set(get());
             this.addPropertyChangeListener(event -> changeable.set((T)event.getNewValue()));
           }
       }
 
     /***********************************************************************************************************************************************************
      * {@inheritDoc}
+     * Listeners registered by {@link #bindWeakly(ChangingSource)} are released, so they will be eventually removed from
+     * their sources.
      **********************************************************************************************************************************************************/
     @Override
     public void unbindAll()
       {
-        for (final var listener : pcs.getPropertyChangeListeners().clone())
+        weakBindings.clear();
+
+        for (final var listener : listeners.getPropertyChangeListeners().clone())
           {
-            pcs.removePropertyChangeListener(listener);
+            listeners.removePropertyChangeListener(listener);
           }
       }
-  }
\ No newline at end of file
+  }
@@ -27,6 +27,7 @@ package it.tidalwave.ui.core;
 
 import jakarta.annotation.Nonnull;
 import java.beans.PropertyChangeListener;
+import java.time.Duration;
 
 /***************************************************************************************************************************************************************
  *
@@ -43,6 +44,40 @@ public interface ChangingSource<T>
 
     public void removePropertyChangeListener (@Nonnull PropertyChangeListener listener);
 
+    /***********************************************************************************************************************************************************
+     * Adds a {@link PropertyChangeListener} that is only weakly referenced by this object: it is automatically removed
+     * after it has been garbage collected. The caller must keep a strong reference to the listener as long as it's
+     * needed.
+     *
+     * @param     listener    the listener
+     * @return                the registration, that can be used to remove the listener
+     * @since     2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public default ManagedPropertyChangeListener addWeakPropertyChangeListener (@Nonnull final PropertyChangeListener listener)
+      {
+        final var managed = ManagedPropertyChangeListener.weak(listener, this::removePropertyChangeListener);
+        addPropertyChangeListener(managed);
+        return managed;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Adds a {@link PropertyChangeListener} that is automatically removed after the given time.
+     *
+     * @param     listener    the listener
+     * @param     ttl         the time to live
+     * @return                the registration, that can be used to remove the listener
+     * @since     2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public default ManagedPropertyChangeListener addPropertyChangeListener (@Nonnull final PropertyChangeListener listener,
+                                                                            @Nonnull final Duration ttl)
+      {
+        final var managed = ManagedPropertyChangeListener.expiring(listener, this::removePropertyChangeListener, ttl);
+        addPropertyChangeListener(managed);
+        return managed;
+      }
+
     /***********************************************************************************************************************************************************
      * Removes all the bindings of this object.
      **********************************************************************************************************************************************************/
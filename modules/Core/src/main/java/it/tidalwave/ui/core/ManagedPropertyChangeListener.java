@@ -0,0 +1,237 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core;
+
+import jakarta.annotation.Nonnull;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/***************************************************************************************************************************************************************
+ *
+ * A {@link PropertyChangeListener} that wraps another listener and removes itself from the source when it's no more
+ * needed. It comes in two flavours:
+ *
+ * <ul>
+ * <li>a <b>weak</b> listener only keeps a weak reference to the delegate, so it doesn't prevent it from being garbage
+ *     collected; the caller must keep a strong reference to the delegate as long as it's needed;</li>
+ * <li>an <b>expiring</b> listener keeps a strong reference to the delegate, but only for a given time.</li>
+ * </ul>
+ *
+ * Removal happens at the first event received after the delegate has been collected or expired, and also proactively
+ * by a daemon thread that polls a {@link ReferenceQueue} and checks the expiration times. The polling period, in
+ * milliseconds, can be configured with the system property
+ * {@code it.tidalwave.ui.core.ManagedPropertyChangeListener.cleanupPeriod} (default 1000).
+ *
+ * Instances are usually created by {@link ChangingSource#addWeakPropertyChangeListener(PropertyChangeListener)} and
+ * {@link ChangingSource#addPropertyChangeListener(PropertyChangeListener, Duration)}.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@Slf4j
+public final class ManagedPropertyChangeListener implements PropertyChangeListener
+  {
+    private static final long CLEANUP_PERIOD =
+            Long.getLong(ManagedPropertyChangeListener.class.getName() + ".cleanupPeriod", 1000);
+
+    private static final ReferenceQueue<PropertyChangeListener> QUEUE = new ReferenceQueue<>();
+
+    private static final Set<ManagedPropertyChangeListener> EXPIRING = ConcurrentHashMap.newKeySet();
+
+    private static final AtomicBoolean CLEANER_STARTED = new AtomicBoolean();
+
+    /** A weak reference that points back to its owner, so it can be removed when enqueued. */
+    private static class Ref extends WeakReference<PropertyChangeListener>
+      {
+        @Nonnull
+        private final ManagedPropertyChangeListener owner;
+
+        Ref (@Nonnull final PropertyChangeListener delegate, @Nonnull final ManagedPropertyChangeListener owner)
+          {
+            super(delegate, QUEUE);
+            this.owner = owner;
+          }
+      }
+
+    private final Ref weakDelegate;
+
+    private volatile PropertyChangeListener strongDelegate;
+
+    private final long deadline;
+
+    @Nonnull
+    private final Consumer<? super PropertyChangeListener> remover;
+
+    private final AtomicBoolean removed = new AtomicBoolean();
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private ManagedPropertyChangeListener (@Nonnull final PropertyChangeListener delegate,
+                                          @Nonnull final Consumer<? super PropertyChangeListener> remover,
+                                          final boolean weak,
+                                          final long deadline)
+      {
+        this.weakDelegate = weak ? new Ref(delegate, this) : null;
+        this.strongDelegate = weak ? null : delegate;
+        this.deadline = deadline;
+        this.remover = remover;
+        startCleaner();
+
+        if (deadline != Long.MAX_VALUE)
+          {
+            EXPIRING.add(this);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Creates a weak listener.
+     *
+     * @param   delegate    the listener to wrap
+     * @param   remover     the code that removes the new listener from its source
+     * @return              the new listener
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static ManagedPropertyChangeListener weak (@Nonnull final PropertyChangeListener delegate,
+                                                      @Nonnull final Consumer<? super PropertyChangeListener> remover)
+      {
+        return new ManagedPropertyChangeListener(delegate, remover, true, Long.MAX_VALUE);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Creates an expiring listener.
+     *
+     * @param   delegate    the listener to wrap
+     * @param   remover     the code that removes the new listener from its source
+     * @param   ttl         the time to live
+     * @return              the new listener
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static ManagedPropertyChangeListener expiring (@Nonnull final PropertyChangeListener delegate,
+                                                          @Nonnull final Consumer<? super PropertyChangeListener> remover,
+                                                          @Nonnull final Duration ttl)
+      {
+        return new ManagedPropertyChangeListener(delegate, remover, false, System.nanoTime() + ttl.toNanos());
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public void propertyChange (@Nonnull final PropertyChangeEvent event)
+      {
+        final var delegate = (weakDelegate != null) ? weakDelegate.get() : strongDelegate;
+
+        if ((delegate == null) || isExpired(System.nanoTime()))
+          {
+            remove();
+          }
+        else
+          {
+            delegate.propertyChange(event);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Removes this listener from its source. Calling this method more than once has no effect.
+     **********************************************************************************************************************************************************/
+    public void remove()
+      {
+        if (removed.compareAndSet(false, true))
+          {
+            EXPIRING.remove(this);
+            strongDelegate = null;
+            remover.accept(this);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return whether this listener has been removed from its source}.
+     **********************************************************************************************************************************************************/
+    public boolean isRemoved()
+      {
+        return removed.get();
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private boolean isExpired (final long now)
+      {
+        return (deadline != Long.MAX_VALUE) && (now - deadline >= 0);
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private static void startCleaner()
+      {
+        if (CLEANER_STARTED.compareAndSet(false, true))
+          {
+            final var thread = new Thread(ManagedPropertyChangeListener::cleanup, "ManagedPropertyChangeListener-cleaner");
+            thread.setDaemon(true);
+            thread.start();
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * The loop of the cleaner thread.
+     **********************************************************************************************************************************************************/
+    private static void cleanup()
+      {
+        for (;;)
+          {
+            try
+              {
+                for (var ref = QUEUE.remove(CLEANUP_PERIOD); ref != null; ref = QUEUE.poll())
+                  {
+                    ((Ref)ref).owner.remove();
+                  }
+
+                final var now = System.nanoTime();
+                EXPIRING.stream().filter(listener -> listener.isExpired(now)).forEach(ManagedPropertyChangeListener::remove);
+              }
+            catch (InterruptedException e)
+              {
+                Thread.currentThread().interrupt();
+                return;
+              }
+            catch (RuntimeException e)
+              {
+                log.warn("While removing a listener", e);
+              }
+          }
+      }
+  }
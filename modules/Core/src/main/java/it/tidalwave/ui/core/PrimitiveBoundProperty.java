@@ -0,0 +1,123 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core;
+
+import jakarta.annotation.Nonnull;
+import it.tidalwave.ui.core.spi.ListenerArray;
+
+/***************************************************************************************************************************************************************
+ *
+ * The common base of the {@link BoundProperty} specialisations for primitive values. It manages the listeners that
+ * receive primitive values, while the value itself is stored unboxed by subclasses.
+ *
+ * These properties can't hold {@code null}: passing it to {@link #set(Object)} throws {@link NullPointerException}.
+ * A plain {@code BoundProperty} must be used if a {@code null} value is meaningful.
+ *
+ * @param   <T>     the boxed type of the value
+ * @param   <L>     the type of the listener
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+abstract class PrimitiveBoundProperty<T, L> extends BoundProperty<T>
+  {
+    /** The listeners that receive primitive values. */
+    private final transient ListenerArray<L> primitiveListeners = new ListenerArray<>();
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     * A {@code null} value is not allowed, since the value is stored as a primitive.
+     *
+     * @throws  NullPointerException    if the value is {@code null}
+     **********************************************************************************************************************************************************/
+    @Override
+    public final void set (@Nonnull final T value)
+      {
+        if (value == null)
+          {
+            throw new NullPointerException(getClass().getSimpleName() + " can't hold null, use a BoundProperty instead");
+          }
+
+        setBoxed(value);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Adds a listener.
+     *
+     * @param   listener  the listener
+     **********************************************************************************************************************************************************/
+    public void addListener (@Nonnull final L listener)
+      {
+        primitiveListeners().add(listener);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Adds a listener that is only weakly referenced by this object. The caller must keep a strong reference to the
+     * listener as long as it's needed.
+     *
+     * @param   listener  the listener
+     **********************************************************************************************************************************************************/
+    public void addWeakListener (@Nonnull final L listener)
+      {
+        primitiveListeners().addWeak(listener);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Removes a listener.
+     *
+     * @param   listener  the listener
+     **********************************************************************************************************************************************************/
+    public void removeListener (@Nonnull final L listener)
+      {
+        primitiveListeners().remove(listener);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public void unbindAll()
+      {
+        super.unbindAll();
+        primitiveListeners().clear();
+      }
+
+    /***********************************************************************************************************************************************************
+     * Sets a non-null value.
+     *
+     * @param   value     the value
+     **********************************************************************************************************************************************************/
+    abstract void setBoxed (@Nonnull T value);
+
+    /***********************************************************************************************************************************************************
+     * {@return the listeners that receive primitive values}.
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    final ListenerArray<L> primitiveListeners()
+      {
+        return primitiveListeners;
+      }
+  }
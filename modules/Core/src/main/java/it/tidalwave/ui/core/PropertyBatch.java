@@ -0,0 +1,240 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core;
+
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/***************************************************************************************************************************************************************
+ *
+ * A thread-confined batch of changes to {@link BoundProperty} values, started by {@link BoundProperty#batch(Runnable)}.
+ * While the batch is running, changes are only recorded; when the outermost batch completes, a single notification per
+ * property is fired, carrying the first old value and the last new value; properties whose value is eventually
+ * unchanged are not notified at all. Changes triggered by listeners during the notification phase are notified
+ * immediately.
+ *
+ * Code that forwards notifications elsewhere (for instance, to the UI thread) can coalesce its work by means of
+ * {@link #attachment(Object, Supplier)} and {@link #onCompletion(Runnable)}, which are bound to the batch in progress,
+ * including its notification phase.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@Slf4j
+public final class PropertyBatch
+  {
+    private static final ThreadLocal<PropertyBatch> CURRENT = new ThreadLocal<>();
+
+    /** A collapsed change. */
+    @AllArgsConstructor
+    private static class Change
+      {
+        @Nonnull
+        private final BoundProperty<?> property;
+
+        private final Object oldValue;
+
+        private Object newValue;
+      }
+
+    private int depth;
+
+    private boolean notifying;
+
+    private final Map<BoundProperty<?>, Change> changeMap = new IdentityHashMap<>();
+
+    private final List<Change> changes = new ArrayList<>();
+
+    private final Map<Object, Object> attachments = new HashMap<>();
+
+    private final List<Runnable> completionTasks = new ArrayList<>();
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private PropertyBatch()
+      {
+      }
+
+    /***********************************************************************************************************************************************************
+     * Runs a task in a batch. If a batch is already in progress in the current thread, the task joins it; if the batch is
+     * in its notification phase, changes made by the task are notified immediately.
+     *
+     * @param   task      the task
+     **********************************************************************************************************************************************************/
+    public static void run (@Nonnull final Runnable task)
+      {
+        var batch = CURRENT.get();
+
+        if (batch == null)
+          {
+            batch = new PropertyBatch();
+            CURRENT.set(batch);
+          }
+
+        batch.depth++;
+
+        try
+          {
+            task.run();
+          }
+        finally
+          {
+            if ((--batch.depth == 0) && !batch.notifying)
+              {
+                batch.complete();
+              }
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return whether a batch is in progress in the current thread}, including its notification phase.
+     **********************************************************************************************************************************************************/
+    public static boolean isActive()
+      {
+        return CURRENT.get() != null;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns an object bound to the batch in progress, creating it if needed.
+     *
+     * @param   <T>       the type of the attachment
+     * @param   key       the key of the attachment
+     * @param   factory   the factory of the attachment
+     * @return            the attachment
+     * @throws  IllegalStateException   if no batch is in progress
+     **********************************************************************************************************************************************************/
+    @Nonnull @SuppressWarnings("unchecked")
+    public static <T> T attachment (@Nonnull final Object key, @Nonnull final Supplier<? extends T> factory)
+      {
+        return (T)current().attachments.computeIfAbsent(key, __ -> factory.get());
+      }
+
+    /***********************************************************************************************************************************************************
+     * Registers a task to be run after the batch in progress has notified all its changes.
+     *
+     * @param   task      the task
+     * @throws  IllegalStateException   if no batch is in progress
+     **********************************************************************************************************************************************************/
+    public static void onCompletion (@Nonnull final Runnable task)
+      {
+        current().completionTasks.add(task);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return whether changes should be deferred}.
+     **********************************************************************************************************************************************************/
+    static boolean isCollecting()
+      {
+        final var batch = CURRENT.get();
+        return (batch != null) && !batch.notifying;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Records a change.
+     *
+     * @param   property  the property that changed
+     * @param   oldValue  the old value
+     * @param   newValue  the new value
+     **********************************************************************************************************************************************************/
+    static void defer (@Nonnull final BoundProperty<?> property, final Object oldValue, final Object newValue)
+      {
+        final var batch = current();
+        final var change = batch.changeMap.get(property);
+
+        if (change != null)
+          {
+            change.newValue = newValue;
+          }
+        else
+          {
+            final var newChange = new Change(property, oldValue, newValue);
+            batch.changeMap.put(property, newChange);
+            batch.changes.add(newChange);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Notifies the changes and runs the completion tasks.
+     **********************************************************************************************************************************************************/
+    private void complete()
+      {
+        notifying = true;
+
+        try
+          {
+            for (final var change : changes)
+              {
+                if (!Objects.equals(change.oldValue, change.newValue))
+                  {
+                    try
+                      {
+                        change.property.fireBatchedChange(change.oldValue, change.newValue);
+                      }
+                    catch (RuntimeException e)
+                      {
+                        log.error("While notifying " + change.property, e);
+                      }
+                  }
+              }
+
+            // tasks might register further tasks
+            for (var i = 0; i < completionTasks.size(); i++)
+              {
+                completionTasks.get(i).run();
+              }
+          }
+        finally
+          {
+            CURRENT.remove();
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    private static PropertyBatch current()
+      {
+        final var batch = CURRENT.get();
+
+        if (batch == null)
+          {
+            throw new IllegalStateException("No batch in progress");
+          }
+
+        return batch;
+      }
+  }
@@ -26,12 +26,15 @@
 package it.tidalwave.ui.core.role;
 
 import jakarta.annotation.Nonnull;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import it.tidalwave.util.As;
 import it.tidalwave.ui.core.role.impl.AsDisplayableComparator;
+import it.tidalwave.ui.core.role.impl.CollationKeySorter;
 import it.tidalwave.ui.core.role.impl.DefaultDisplayable;
 import it.tidalwave.ui.core.role.impl.DisplayableComparator;
 import static it.tidalwave.util.BundleUtilities.getMessage;
@@ -175,4 +178,36 @@ public interface Displayable
       {
         return AsDisplayableComparator.getInstance();
       }
+
+    /***********************************************************************************************************************************************************
+     * Sorts a collection of {@code Displayable}s by display name. It is much faster than sorting with
+     * {@link #comparing()}, since each display name is retrieved and collated only once; large collections are sorted
+     * in parallel.
+     *
+     * @param   <T>         the type of the elements
+     * @param   elements    the elements
+     * @return              a new list with the sorted elements
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static <T extends Displayable> List<T> sorted (@Nonnull final Collection<? extends T> elements)
+      {
+        return CollationKeySorter.sort(elements, Displayable::getDisplayName);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Sorts a collection of objects implementing {@code As} that contain the {@code Displayable} role by display name.
+     * It is much faster than sorting with {@link #asComparing()}, since the role is retrieved and each display name is
+     * collated only once; large collections are sorted in parallel.
+     *
+     * @param   <T>         the type of the elements
+     * @param   elements    the elements
+     * @return              a new list with the sorted elements
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static <T extends As> List<T> asSorted (@Nonnull final Collection<? extends T> elements)
+      {
+        return CollationKeySorter.sort(elements, e -> e.as(_Displayable_).getDisplayName());
+      }
   }
@@ -0,0 +1,136 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core.role;
+
+import javax.annotation.CheckForNull;
+import jakarta.annotation.Nonnull;
+import java.util.Objects;
+import java.util.function.Supplier;
+import lombok.Getter;
+
+/***************************************************************************************************************************************************************
+ *
+ * A placeholder for a role which is created only when it is requested for the first time. It can be passed to
+ * {@link PresentationModel#of(Object, java.util.Collection)} (and the other factory methods) in place of the role
+ * itself, so the cost of creating roles that are never used (e.g. the actions of a row which is never shown) is not
+ * paid. For instance:
+ *
+ * <pre>
+ * PresentationModel.of(entity, r(Displayable.of(entity.getName()),
+ *                                LazyRole.of(_UserActionProvider_, () -&gt; UserActionProvider.of(action1(entity), action2(entity)))));
+ * </pre>
+ *
+ * The role is matched against requests by means of the declared type: for instance, a {@code LazyRole} declared for
+ * {@code UserActionProvider} won't be returned when asked for a more specific type. The supplier is invoked at most
+ * once, even in presence of concurrent requests.
+ *
+ * @param   <T>     the type of the role
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public final class LazyRole<T>
+  {
+    /** The declared type of the role. */
+    @Getter @Nonnull
+    private final Class<T> roleType;
+
+    @CheckForNull
+    private Supplier<? extends T> supplier;
+
+    @CheckForNull
+    private volatile T role;
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private LazyRole (@Nonnull final Class<T> roleType, @Nonnull final Supplier<? extends T> supplier)
+      {
+        this.roleType = roleType;
+        this.supplier = supplier;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Creates a new instance.
+     *
+     * @param   <T>         the type of the role
+     * @param   roleType    the declared type of the role
+     * @param   supplier    the supplier of the role
+     * @return              the new instance
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static <T> LazyRole<T> of (@Nonnull final Class<T> roleType, @Nonnull final Supplier<? extends T> supplier)
+      {
+        return new LazyRole<>(roleType, supplier);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns the role, creating it if needed.
+     *
+     * @return              the role
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public T get()
+      {
+        var role = this.role;
+
+        if (role == null)
+          {
+            synchronized (this)
+              {
+                role = this.role;
+
+                if (role == null)
+                  {
+                    role = Objects.requireNonNull(Objects.requireNonNull(supplier).get(), "supplier returned null");
+                    this.role = role;
+                    supplier = null; // release whatever has been captured by the supplier
+                  }
+              }
+          }
+
+        return role;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns whether the role has been already created.
+     *
+     * @return              {@code true} if the role has been created
+     **********************************************************************************************************************************************************/
+    public boolean isResolved()
+      {
+        return role != null;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public String toString()
+      {
+        return String.format("LazyRole(%s, %s)", roleType.getSimpleName(), isResolved() ? role : "unresolved");
+      }
+  }
@@ -29,6 +29,9 @@ import jakarta.annotation.Nonnull;
 import java.beans.PropertyChangeListener;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import it.tidalwave.util.As;
 import it.tidalwave.util.NamedCallback;
 import it.tidalwave.util.Parameters;
@@ -66,6 +69,106 @@ public interface PresentationModel extends As
      **********************************************************************************************************************************************************/
     public void dispose();
 
+    /***********************************************************************************************************************************************************
+     * Invalidates any cached result of role lookups, so that the next call to {@link #as(Class)}, {@link #maybeAs(Class)}
+     * or {@link #asMany(Class)} performs a fresh resolution. It should be called when roles of the owner change in a
+     * way that the previous results are no more valid. The default implementation does nothing.
+     *
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public default void invalidateRoleCache()
+      {
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns the object this {@code PresentationModel} has been created for, if known. Two distinct
+     * {@code PresentationModel}s with equal owners are meant to represent the same thing: for instance, views can use
+     * the owner to match the items of a refreshed list against the ones already rendered. The default implementation
+     * returns an empty value.
+     *
+     * @return      the owner
+     * @since       2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public default Optional<Object> maybeOwner()
+      {
+        return Optional.empty();
+      }
+
+    /***********************************************************************************************************************************************************
+     * Passes each role of the given type to a consumer, in the same order as {@link #asMany(Class)}. Implementations
+     * walk their local roles, the owner roles and any delegate roles without creating intermediate collections. The
+     * default implementation is based on {@link #anyRole(Class, Predicate)}.
+     *
+     * @param   <T>         the static type of the role
+     * @param   roleType    the type of the role
+     * @param   consumer    the consumer
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public default <T> void forEachRole (@Nonnull final Class<? extends T> roleType, @Nonnull final Consumer<? super T> consumer)
+      {
+        anyRole(roleType, role ->
+          {
+            consumer.accept(role);
+            return false;
+          });
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns whether any role of the given type matches a predicate. Roles are tested in the same order as
+     * {@link #asMany(Class)}, stopping at the first match; as {@link #forEachRole(Class, Consumer)}, no intermediate
+     * collections are created. The default implementation is based on {@link #asMany(Class)}.
+     *
+     * @param   <T>         the static type of the role
+     * @param   roleType    the type of the role
+     * @param   predicate   the predicate
+     * @return              {@code true} if a role matched
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public default <T> boolean anyRole (@Nonnull final Class<? extends T> roleType, @Nonnull final Predicate<? super T> predicate)
+      {
+        for (final T role : this.<T>asMany(roleType))
+          {
+            if (predicate.test(role))
+              {
+                return true;
+              }
+          }
+
+        return false;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns a role of the given type only if it's a {@link LightweightRole} and it can be retrieved without any
+     * expensive lookup, so this method can be called in the UI thread. The returned role, if present, is the same
+     * returned by {@link #maybeAs(Class)}; an empty result doesn't mean that the role is not available, but only that it
+     * must be retrieved in the regular way. The default implementation always returns an empty value.
+     *
+     * @param   <T>         the static type of the role
+     * @param   roleType    the type of the role
+     * @return              the role, if lightweight and cheaply available
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public default <T> Optional<T> maybeAsLightweight (@Nonnull final Class<? extends T> roleType)
+      {
+        return Optional.empty();
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns whether a role of the given type is known to be available without any expensive lookup, so this method
+     * can be called in the UI thread. A {@code false} result doesn't mean that the role is not available, but only that
+     * it can't be told cheaply. The default implementation always returns {@code false}.
+     *
+     * @param   roleType    the type of the role
+     * @return              {@code true} if the role is cheaply known to be available
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public default boolean hasCheaplyKnownRole (@Nonnull final Class<?> roleType)
+      {
+        return false;
+      }
+
     /***********************************************************************************************************************************************************
      * Adds a {@link PropertyChangeListener}.
      *
@@ -155,7 +258,7 @@ public interface PresentationModel extends As
      * Creates an instance given an owner and multiple roles.
      *
      * @param   owner   the owner
-     * @param   roles   roles or {@link it.tidalwave.util.RoleFactory} instances
+     * @param   roles   roles, {@link it.tidalwave.util.RoleFactory} or {@link LazyRole} instances
      * @return          the new instance
      * @since           3.2-ALPHA-1
      * @since           3.2-ALPHA-3 (refactored)
@@ -26,7 +26,6 @@
 package it.tidalwave.ui.core.role.impl;
 
 import jakarta.annotation.Nonnull;
-import java.text.Collator;
 import java.util.Comparator;
 import java.io.Serializable;
 import it.tidalwave.util.As;
@@ -38,6 +37,8 @@ import static it.tidalwave.ui.core.role.Displayable._Displayable_;
 /***************************************************************************************************************************************************************
  *
  * A {@link Comparator} for classes implementing the {@link As} interface containing a {@link Displayable} role.
+ * Since the role is retrieved at each comparison, {@link Displayable#asSorted(java.util.Collection)} is preferable for sorting
+ * large collections.
  *
  * @author  Fabrizio Giudici
  * @it.tidalwave.javadoc.draft Will be moved to a different package
@@ -59,6 +60,6 @@ public final class AsDisplayableComparator implements Comparator<As>, Serializab
     @Override
     public int compare (@Nonnull final As o1, @Nonnull final As o2)
       {
-        return Collator.getInstance().compare(o1.as(_Displayable_).getDisplayName(), o2.as(_Displayable_).getDisplayName());
+        return CollationKeySorter.collator().compare(o1.as(_Displayable_).getDisplayName(), o2.as(_Displayable_).getDisplayName());
       }
   }
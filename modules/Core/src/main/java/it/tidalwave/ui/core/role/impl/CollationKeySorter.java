@@ -0,0 +1,189 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core.role.impl;
+
+import jakarta.annotation.Nonnull;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/***************************************************************************************************************************************************************
+ *
+ * Sorts objects by a localized name, computing a {@link CollationKey} only once per element, rather than collating
+ * strings at each comparison, which is much more expensive for large collections. Keys can be computed in parallel,
+ * and the sort itself can be parallel too; both the sequential and the parallel sort are stable.
+ *
+ * {@link Collator}s are not thread-safe: each thread uses its own instance for the default {@link Locale}, which is
+ * also reused by {@link DisplayableComparator} and {@link AsDisplayableComparator}. Since {@link CollationKey}s are
+ * only comparable when they have been created by the same {@code Collator}, all the keys of a sort are created by the
+ * instance of the calling thread; when they are computed in parallel, each chunk of elements uses a clone of it, which
+ * has the same rules, strength and decomposition mode, and so creates the same keys.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CollationKeySorter
+  {
+    /** The size over which sorts by default are performed in parallel. */
+    public static final int PARALLEL_THRESHOLD = Integer.getInteger(CollationKeySorter.class.getName() + ".parallelThreshold", 10_000);
+
+    /** The number of elements whose keys are computed by the same clone of the {@link Collator} in a parallel sort. */
+    private static final int CHUNK_SIZE = 256;
+
+    /** A {@link Collator} bound to the {@link Locale} it was created for. */
+    private static final class LocalCollator
+      {
+        @Nonnull
+        private final Locale locale = Locale.getDefault();
+
+        @Nonnull
+        private final Collator collator = Collator.getInstance(locale);
+      }
+
+    /** An element paired to its key. */
+    private static final class Entry<T>
+      {
+        @Nonnull
+        private final CollationKey key;
+
+        private final T element;
+
+        private Entry (@Nonnull final CollationKey key, final T element)
+          {
+            this.key = key;
+            this.element = element;
+          }
+      }
+
+    private static final Comparator<Entry<?>> BY_KEY = (e1, e2) -> e1.key.compareTo(e2.key);
+
+    private static final ThreadLocal<LocalCollator> COLLATOR = ThreadLocal.withInitial(LocalCollator::new);
+
+    /***********************************************************************************************************************************************************
+     * {@return the {@link Collator} for the default {@link Locale}} owned by the current thread. It must not be shared
+     * with other threads.
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static Collator collator()
+      {
+        var local = COLLATOR.get();
+
+        if (!local.locale.equals(Locale.getDefault()))
+          {
+            local = new LocalCollator();
+            COLLATOR.set(local);
+          }
+
+        return local.collator;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Sorts elements by a name; the sort is performed in parallel if there are more than {@link #PARALLEL_THRESHOLD}
+     * elements.
+     *
+     * @param   <T>             the type of the elements
+     * @param   elements        the elements
+     * @param   nameExtractor   the function extracting the name from an element
+     * @return                  a new list with the sorted elements
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static <T> List<T> sort (@Nonnull final Collection<? extends T> elements,
+                                    @Nonnull final Function<? super T, String> nameExtractor)
+      {
+        return sort(elements, nameExtractor, elements.size() > PARALLEL_THRESHOLD);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Sorts elements by a name.
+     *
+     * @param   <T>             the type of the elements
+     * @param   elements        the elements
+     * @param   nameExtractor   the function extracting the name from an element; it must be thread-safe if
+     *                          {@code parallel} is {@code true}
+     * @param   parallel        whether keys must be computed and sorted in parallel
+     * @return                  a new list with the sorted elements
+     **********************************************************************************************************************************************************/
+    @Nonnull @SuppressWarnings("unchecked")
+    public static <T> List<T> sort (@Nonnull final Collection<? extends T> elements,
+                                    @Nonnull final Function<? super T, String> nameExtractor,
+                                    final boolean parallel)
+      {
+        final var source = (T[])elements.toArray();
+        final var entries = (Entry<T>[])new Entry<?>[source.length];
+        final var collator = collator();
+
+        if (parallel)
+          {
+            IntStream.range(0, (source.length + CHUNK_SIZE - 1) / CHUNK_SIZE).parallel().forEach(chunk ->
+              {
+                final var from = chunk * CHUNK_SIZE;
+                createEntries((Collator)collator.clone(), source, from, Math.min(from + CHUNK_SIZE, source.length), nameExtractor, entries);
+              });
+            Arrays.parallelSort(entries, BY_KEY);
+          }
+        else
+          {
+            createEntries(collator, source, 0, source.length, nameExtractor, entries);
+            Arrays.sort(entries, BY_KEY);
+          }
+
+        final var result = new ArrayList<T>(entries.length);
+
+        for (final var entry : entries)
+          {
+            result.add(entry.element);
+          }
+
+        return result;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Creates the entries for a range of elements.
+     **********************************************************************************************************************************************************/
+    private static <T> void createEntries (@Nonnull final Collator collator,
+                                           @Nonnull final T[] source,
+                                           final int from,
+                                           final int to,
+                                           @Nonnull final Function<? super T, String> nameExtractor,
+                                           @Nonnull final Entry<T>[] entries)
+      {
+        for (var i = from; i < to; i++)
+          {
+            entries[i] = new Entry<>(collator.getCollationKey(nameExtractor.apply(source[i])), source[i]);
+          }
+      }
+  }
@@ -0,0 +1,362 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core.role.impl;
+
+import javax.annotation.CheckForNull;
+import jakarta.annotation.Nonnull;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Predicate;
+import it.tidalwave.util.As;
+import it.tidalwave.util.AsException;
+import it.tidalwave.util.Callback;
+import it.tidalwave.util.NamedCallback;
+import it.tidalwave.util.RoleFactory;
+import it.tidalwave.ui.core.role.PresentationModel;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/***************************************************************************************************************************************************************
+ *
+ * A compact implementation of {@link PresentationModel}, meant for large collections of leaf items (e.g. rows of a list
+ * or a table). Local roles are kept in a flat array; the listener support is only allocated when it's needed for the
+ * first time and the delegate for global roles is never retained. Contrarily to {@link DefaultPresentationModel} it doesn't memoise
+ * the results of role lookups, trading a small lookup cost for a smaller footprint.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@ToString(exclude = {"roles", "pcs"}) @Slf4j
+public class CompactPresentationModel implements PresentationModel
+  {
+    private static final Object[] NO_ROLES = new Object[0];
+
+    private static final PropertyChangeListener[] NO_LISTENERS = new PropertyChangeListener[0];
+
+    @Nonnull
+    private final Object owner;
+
+    @Nonnull
+    private final Object[] roles;
+
+    @CheckForNull
+    private volatile PropertyChangeSupport pcs;
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    public CompactPresentationModel (@Nonnull final Object owner, @Nonnull final Collection<Object> roles)
+      {
+        this.owner = owner;
+        this.roles = roles.isEmpty() ? NO_ROLES : RoleFactory.resolveFactories(owner, roles).toArray();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public <T> T as (@Nonnull final Class<? extends T> roleType)
+      {
+        return maybeAs(roleType).orElseThrow(() -> new AsException(roleType));
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @SuppressWarnings("ConstantValue")
+    @Override @Nonnull
+    public <T> Optional<T> maybeAs (@Nonnull final Class<? extends T> roleType)
+      {
+        // Undocumented feature: for instance Zephyr needs to fire property events
+        if (roleType.equals(PropertyChangeSupport.class))
+          {
+            return Optional.of(roleType.cast(pcs()));
+          }
+
+        final var index = RoleIndex.indexOf(roles, roleType, 0);
+
+        if (index >= 0)
+          {
+            return Optional.of(roleType.cast(RoleIndex.roleAt(roles, index)));
+          }
+
+        final Optional<T> t = globalRoles().maybeAs(roleType);
+
+        if (t.isPresent())
+          {
+            return t;
+          }
+
+        if (owner instanceof As)
+          {
+            try
+              {
+                final var role = ((As)owner).as(roleType);
+
+                if (role != null) // do check it for improper implementations or partial mocks
+                  {
+                    return Optional.of(role);
+                  }
+              }
+            catch (AsException ignore)
+              {
+                // fallback
+              }
+          }
+
+        return Optional.empty();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public <T> Collection<T> asMany (@Nonnull final Class<? extends T> roleType)
+      {
+        final var result = new ArrayList<T>();
+        forEachRole(roleType, result::add);
+        return result;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public <T> boolean anyRole (@Nonnull final Class<? extends T> roleType, @Nonnull final Predicate<? super T> predicate)
+      {
+        if (RoleIndex.anyRole(roles, roleType, predicate) || RoleIndex.anyRole(globalRoles(), roleType, predicate))
+          {
+            return true;
+          }
+
+        if (roleType.isAssignableFrom(owner.getClass()) && predicate.test(roleType.cast(owner)))
+          {
+            return true;
+          }
+
+        return (owner instanceof As) && RoleIndex.anyRole((As)owner, roleType, predicate);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc} Only local roles are searched, since they take precedence over the other ones.
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public <T> Optional<T> maybeAsLightweight (@Nonnull final Class<? extends T> roleType)
+      {
+        return RoleIndex.lightweightRole(roles, roleType);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc} Only local roles are searched.
+     **********************************************************************************************************************************************************/
+    @Override
+    public boolean hasCheaplyKnownRole (@Nonnull final Class<?> roleType)
+      {
+        return RoleIndex.indexOf(roles, roleType, 0) >= 0;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public Optional<Object> maybeOwner()
+      {
+        return Optional.of(owner);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public void dispose()
+      {
+        final var pcs = this.pcs;
+
+        if (pcs != null)
+          {
+            for (final var listener : pcs.getPropertyChangeListeners())
+              {
+                pcs.removePropertyChangeListener(listener);
+              }
+          }
+
+        forEachRole(NamedCallback.class, callback ->
+          {
+            if (callback.getName().equals(CALLBACK_DISPOSE))
+              {
+                wrap(callback, "While calling 'dispose' callbacks");
+              }
+          });
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public void addPropertyChangeListener (@Nonnull final PropertyChangeListener listener)
+      {
+        pcs().addPropertyChangeListener(listener);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public void addPropertyChangeListener (@Nonnull final String propertyName, @Nonnull final PropertyChangeListener listener)
+      {
+        pcs().addPropertyChangeListener(propertyName, listener);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public void removePropertyChangeListener (@Nonnull final PropertyChangeListener listener)
+      {
+        final var pcs = this.pcs;
+
+        if (pcs != null)
+          {
+            pcs.removePropertyChangeListener(listener);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public void removePropertyChangeListener (@Nonnull final String propertyName, @Nonnull final PropertyChangeListener listener)
+      {
+        final var pcs = this.pcs;
+
+        if (pcs != null)
+          {
+            pcs.removePropertyChangeListener(propertyName, listener);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public boolean hasListeners (@Nonnull final String propertyName)
+      {
+        final var pcs = this.pcs;
+        return (pcs != null) && pcs.hasListeners(propertyName);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public PropertyChangeListener[] getPropertyChangeListeners()
+      {
+        final var pcs = this.pcs;
+        return (pcs == null) ? NO_LISTENERS : pcs.getPropertyChangeListeners();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public PropertyChangeListener[] getPropertyChangeListeners (@Nonnull final String propertyName)
+      {
+        final var pcs = this.pcs;
+        return (pcs == null) ? NO_LISTENERS : pcs.getPropertyChangeListeners(propertyName);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Fires a property change event. Nothing is done if there are no listeners.
+     *
+     * @param   propertyName    the name of the property
+     * @param   oldValue        the old value
+     * @param   newValue        the new value
+     **********************************************************************************************************************************************************/
+    public void firePropertyChange (@Nonnull final String propertyName,
+                                    @CheckForNull final Object oldValue,
+                                    @CheckForNull final Object newValue)
+      {
+        final var pcs = this.pcs;
+
+        if (pcs != null)
+          {
+            pcs.firePropertyChange(propertyName, oldValue, newValue);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    private PropertyChangeSupport pcs()
+      {
+        var pcs = this.pcs;
+
+        if (pcs == null)
+          {
+            synchronized (this)
+              {
+                pcs = this.pcs;
+
+                if (pcs == null)
+                  {
+                    this.pcs = pcs = new PropertyChangeSupport(this);
+                  }
+              }
+          }
+
+        return pcs;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns the delegate for global roles. It's not kept, otherwise each instance that has been rendered once would pay
+     * for it for its whole lifetime; it's short-lived and only needed when a role is not found locally.
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    private As globalRoles()
+      {
+        return As.forObject(owner);
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private static void wrap (@Nonnull final Callback callback, @Nonnull final String logMessage)
+      {
+        try
+          {
+            callback.call();
+          }
+        catch (Throwable t)
+          {
+            log.error(logMessage, t);
+          }
+      }
+  }
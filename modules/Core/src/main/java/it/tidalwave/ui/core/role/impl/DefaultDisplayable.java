@@ -33,12 +33,13 @@ import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.io.Serializable;
+import it.tidalwave.ui.core.role.LightweightRole;
 import it.tidalwave.ui.core.role.LocalizedDisplayable;
 
 /***************************************************************************************************************************************************************
  *
  * A default implementation of {@link LocalizedDisplayable} which a single, immutable display name in
- * {@code Locale.ENGLISH} language.
+ * {@code Locale.ENGLISH} language. Being immutable, it's a {@link LightweightRole}.
  *
  * This is no more a public class; use {@link it.tidalwave.ui.core.role.Displayable#of(String)} or
  * {@link LocalizedDisplayable#fromBundle(Class, String)}}
@@ -47,7 +48,7 @@ import it.tidalwave.ui.core.role.LocalizedDisplayable;
  * @it.tidalwave.javadoc.stable
  *
  **************************************************************************************************************************************************************/
-public class DefaultDisplayable implements LocalizedDisplayable, Serializable
+public class DefaultDisplayable implements LocalizedDisplayable, LightweightRole, Serializable
   {
     private static final long serialVersionUID = 45345436345634734L;
 
@@ -27,19 +27,17 @@ package it.tidalwave.ui.core.role.impl;
 
 import jakarta.annotation.Nonnull;
 import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.SortedSet;
-import java.util.TreeSet;
 import it.tidalwave.ui.core.role.MutableLocalizedDisplayable;
+import it.tidalwave.ui.core.spi.ListenerRegistry;
 
 /***************************************************************************************************************************************************************
  *
  * A default implementation of {@link MutableLocalizedDisplayable} starting which a single display name in
- * {@code Locale.ENGLISH} language.
+ * {@code Locale.ENGLISH} language. Display names are kept in an immutable snapshot that is replaced at each change, so
+ * the old and new values of change events are shared rather than copied.
  *
  * This is no more a public class; use
  *
@@ -55,9 +53,9 @@ public class DefaultMutableDisplayable implements MutableLocalizedDisplayable
     private final String toStringName;
 
     @Nonnull
-    private  final Map<Locale, String> displayNameMap = new HashMap<>();
+    private volatile DisplayNames displayNames;
 
-    private final PropertyChangeSupport pcs = new PropertyChangeSupport(this);
+    private final ListenerRegistry listeners = new ListenerRegistry(this);
 
     private final Locale defaultLocale = Locale.ENGLISH;
 
@@ -81,7 +79,7 @@ public class DefaultMutableDisplayable implements MutableLocalizedDisplayable
     public DefaultMutableDisplayable (@Nonnull final String displayName, @Nonnull final String toStringName)
       {
         this.toStringName = toStringName;
-        displayNameMap.put(defaultLocale, displayName);
+        displayNames = DisplayNames.EMPTY.with(defaultLocale, displayName);
       }
 
     /***********************************************************************************************************************************************************
@@ -99,7 +97,7 @@ public class DefaultMutableDisplayable implements MutableLocalizedDisplayable
     @Override @Nonnull
     public String getDisplayName (@Nonnull final Locale locale)
       {
-        return displayNameMap.get(locale);
+        return displayNames.get(locale);
       }
 
     /***********************************************************************************************************************************************************
@@ -108,7 +106,7 @@ public class DefaultMutableDisplayable implements MutableLocalizedDisplayable
     @Override @Nonnull
     public SortedSet<Locale> getLocales()
       {
-        return new TreeSet<>(displayNameMap.keySet());
+        return displayNames.locales();
       }
 
     /***********************************************************************************************************************************************************
@@ -117,7 +115,7 @@ public class DefaultMutableDisplayable implements MutableLocalizedDisplayable
     @Override @Nonnull
     public Map<Locale, String> getDisplayNames()
       {
-        return Collections.unmodifiableMap(displayNameMap);
+        return displayNames;
       }
 
     /***********************************************************************************************************************************************************
@@ -128,7 +126,7 @@ public class DefaultMutableDisplayable implements MutableLocalizedDisplayable
       {
         final var oldDisplayName = getDisplayName(defaultLocale);
         setDisplayName(displayName, defaultLocale);
-        pcs.firePropertyChange(PROP_DISPLAY_NAME, oldDisplayName, displayName);
+        listeners.firePropertyChange(PROP_DISPLAY_NAME, oldDisplayName, displayName);
       }
 
     /***********************************************************************************************************************************************************
@@ -137,9 +135,16 @@ public class DefaultMutableDisplayable implements MutableLocalizedDisplayable
     @Override
     public void setDisplayName (@Nonnull final String displayName, @Nonnull final Locale locale)
       {
-        final Map<Locale, String> oldDisplayNameMap = new HashMap<>(displayNameMap);
-        displayNameMap.put(locale, displayName);
-        pcs.firePropertyChange(PROP_DISPLAY_NAMES, oldDisplayNameMap, displayNameMap);
+        final DisplayNames oldDisplayNames;
+        final DisplayNames newDisplayNames;
+
+        synchronized (this)
+          {
+            oldDisplayNames = displayNames;
+            newDisplayNames = displayNames = oldDisplayNames.with(locale, displayName);
+          }
+
+        fireDisplayNamesChanged(oldDisplayNames, newDisplayNames);
       }
 
     /***********************************************************************************************************************************************************
@@ -148,9 +153,16 @@ public class DefaultMutableDisplayable implements MutableLocalizedDisplayable
     @Override
     public void setDisplayNames (@Nonnull final Map<Locale, String> displayNames)
       {
-        final Map<Locale, String> oldDisplayNameMap = new HashMap<>(displayNameMap);
-        displayNameMap.putAll(displayNames);
-        pcs.firePropertyChange(PROP_DISPLAY_NAMES, oldDisplayNameMap, displayNameMap);
+        final DisplayNames oldDisplayNames;
+        final DisplayNames newDisplayNames;
+
+        synchronized (this)
+          {
+            oldDisplayNames = this.displayNames;
+            newDisplayNames = this.displayNames = oldDisplayNames.withAll(displayNames);
+          }
+
+        fireDisplayNamesChanged(oldDisplayNames, newDisplayNames);
       }
 
     /***********************************************************************************************************************************************************
@@ -159,7 +171,7 @@ public class DefaultMutableDisplayable implements MutableLocalizedDisplayable
     @Override
     public void addPropertyChangeListener (@Nonnull final PropertyChangeListener listener)
       {
-        pcs.addPropertyChangeListener(listener);
+        listeners.addPropertyChangeListener(listener);
       }
 
     /***********************************************************************************************************************************************************
@@ -168,7 +180,19 @@ public class DefaultMutableDisplayable implements MutableLocalizedDisplayable
     @Override
     public void removePropertyChangeListener (@Nonnull final PropertyChangeListener listener)
       {
-        pcs.removePropertyChangeListener(listener);
+        listeners.removePropertyChangeListener(listener);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Notifies a change of the display names; nothing is notified if the snapshot has not been replaced.
+     **********************************************************************************************************************************************************/
+    private void fireDisplayNamesChanged (@Nonnull final DisplayNames oldDisplayNames,
+                                          @Nonnull final DisplayNames newDisplayNames)
+      {
+        if (oldDisplayNames != newDisplayNames)
+          {
+            listeners.firePropertyChange(PROP_DISPLAY_NAMES, oldDisplayNames, newDisplayNames);
+          }
       }
 
     /***********************************************************************************************************************************************************
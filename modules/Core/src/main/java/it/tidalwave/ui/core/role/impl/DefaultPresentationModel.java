@@ -27,12 +27,19 @@ package it.tidalwave.ui.core.role.impl;
 
 import jakarta.annotation.Nonnull;
 import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import it.tidalwave.util.As;
 import it.tidalwave.util.AsException;
 import it.tidalwave.util.Callback;
+import it.tidalwave.util.ContextManager;
 import it.tidalwave.util.NamedCallback;
+import it.tidalwave.ui.core.role.LightweightRole;
 import it.tidalwave.ui.core.role.PresentationModel;
 import lombok.ToString;
 import lombok.experimental.Delegate;
@@ -40,12 +47,15 @@ import lombok.extern.slf4j.Slf4j;
 
 /***************************************************************************************************************************************************************
  *
- * A default implementation of {@link PresentationModel}.
+ * A default implementation of {@link PresentationModel}. Results of {@link #maybeAs(Class)}, including negative ones, are
+ * memoised per instance, since a {@code PresentationModel} is typically queried for the same roles over and over (e.g.
+ * by cells in a list); the memo is cleared by {@link #dispose()} and {@link #invalidateRoleCache()}. Since global roles
+ * might depend on the active DCI contexts, the memo is neither used nor populated when a context is active.
  *
  * @author  Fabrizio Giudici
  *
  **************************************************************************************************************************************************************/
-@ToString(exclude = {"as", "pcs"}) @Slf4j
+@ToString(exclude = {"as", "pcs", "roleCache"}) @Slf4j
 public class DefaultPresentationModel implements PresentationModel
   {
     @Nonnull
@@ -54,7 +64,12 @@ public class DefaultPresentationModel implements PresentationModel
     @Delegate
     private final PropertyChangeSupport pcs = new PropertyChangeSupport(this);
 
-    private final As as;
+    private final IndexedAs as;
+
+    private final Map<Class<?>, Optional<?>> roleCache = new ConcurrentHashMap<>();
+
+    /** Incremented at each invalidation, so a lookup running concurrently doesn't memoise a stale result. */
+    private final AtomicInteger invalidationEpoch = new AtomicInteger();
 
     /***********************************************************************************************************************************************************
      *
@@ -62,7 +77,7 @@ public class DefaultPresentationModel implements PresentationModel
     public DefaultPresentationModel (@Nonnull final Object owner, @Nonnull final Collection<Object> roles)
       {
         this.owner = owner;
-        as = As.forObject(owner, roles);
+        as = new IndexedAs(owner, roles);
       }
 
     /***********************************************************************************************************************************************************
@@ -77,7 +92,7 @@ public class DefaultPresentationModel implements PresentationModel
     /***********************************************************************************************************************************************************
      * {@inheritDoc}
      **********************************************************************************************************************************************************/
-    @SuppressWarnings("ConstantValue")
+    @SuppressWarnings("unchecked")
     @Override @Nonnull
     public <T> Optional<T> maybeAs (@Nonnull final Class<? extends T> roleType)
       {
@@ -87,6 +102,85 @@ public class DefaultPresentationModel implements PresentationModel
             return Optional.of(roleType.cast(pcs));
           }
 
+        if (!ContextManager.getInstance().getContexts().isEmpty())
+          {
+            return findRole(roleType);
+          }
+
+        var role = roleCache.get(roleType);
+
+        if (role == null)
+          {
+            // Don't use computeIfAbsent(), since the lookup might recursively query this object.
+            final var epoch = invalidationEpoch.get();
+            role = findRole(roleType);
+            roleCache.putIfAbsent(roleType, role);
+
+            // An invalidation happened during the lookup, perhaps after the cache was cleared: the result might be stale.
+            // Since invalidations increment the epoch before clearing, a later one will clear the memo anyway.
+            if (invalidationEpoch.get() != epoch)
+              {
+                roleCache.remove(roleType, role);
+              }
+          }
+
+        return (Optional<T>)role;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc} A memoised result is used if present, otherwise only local roles are searched, since they take
+     * precedence over the owner's ones.
+     **********************************************************************************************************************************************************/
+    @SuppressWarnings("unchecked")
+    @Override @Nonnull
+    public <T> Optional<T> maybeAsLightweight (@Nonnull final Class<? extends T> roleType)
+      {
+        final var role = roleCache.get(roleType);
+
+        if (role != null)
+          {
+            return ((Optional<T>)role).filter(LightweightRole.class::isInstance);
+          }
+
+        return as.maybeAsLightweight(roleType);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc} Only the memoised results and local roles are searched.
+     **********************************************************************************************************************************************************/
+    @Override
+    public boolean hasCheaplyKnownRole (@Nonnull final Class<?> roleType)
+      {
+        final var role = roleCache.get(roleType);
+        return (role != null) ? role.isPresent() : as.hasLocalRole(roleType);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public Optional<Object> maybeOwner()
+      {
+        return Optional.of(owner);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public void invalidateRoleCache()
+      {
+        invalidationEpoch.incrementAndGet();
+        roleCache.clear();
+      }
+
+    /***********************************************************************************************************************************************************
+     * Performs the actual role lookup, first in local roles, then in the owner.
+     **********************************************************************************************************************************************************/
+    @SuppressWarnings("ConstantValue")
+    @Nonnull
+    private <T> Optional<T> findRole (@Nonnull final Class<? extends T> roleType)
+      {
         final Optional<T> t = as.maybeAs(roleType);
 
         if (t.isPresent())
@@ -120,21 +214,30 @@ public class DefaultPresentationModel implements PresentationModel
     @Override @Nonnull
     public <T> Collection<T> asMany (@Nonnull final Class<? extends T> roleType)
       {
-        final Collection<T> result = as.asMany(roleType);
+        final var result = new ArrayList<T>();
+        forEachRole(roleType, result::add);
+        return result;
+      }
 
-        // The problem here is that we want only to add local roles in owner; but calling owner.as() will also
-        // find again the global roles that were discovered by AsSupport.
-        if (roleType.isAssignableFrom(owner.getClass()))
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public <T> boolean anyRole (@Nonnull final Class<? extends T> roleType, @Nonnull final Predicate<? super T> predicate)
+      {
+        if (as.anyRole(roleType, predicate))
           {
-            result.add(roleType.cast(owner));
+            return true;
           }
 
-        if (owner instanceof As)
+        // The problem here is that we want only to add local roles in owner; but calling owner.as() will also
+        // find again the global roles that were discovered by AsSupport.
+        if (roleType.isAssignableFrom(owner.getClass()) && predicate.test(roleType.cast(owner)))
           {
-            result.addAll(((As)owner).asMany(roleType));
+            return true;
           }
 
-        return result;
+        return (owner instanceof As) && RoleIndex.anyRole((As)owner, roleType, predicate);
       }
 
     /***********************************************************************************************************************************************************
@@ -143,14 +246,20 @@ public class DefaultPresentationModel implements PresentationModel
     @Override
     public void dispose()
       {
+        invalidateRoleCache();
+
         for (final var listener : pcs.getPropertyChangeListeners().clone())
           {
             pcs.removePropertyChangeListener(listener);
           }
 
-        asMany(NamedCallback.class).stream()
-                                   .filter(c -> c.getName().equals(CALLBACK_DISPOSE))
-                                   .forEach(callback -> wrap(callback, "While calling 'dispose' callbacks"));
+        forEachRole(NamedCallback.class, callback ->
+          {
+            if (callback.getName().equals(CALLBACK_DISPOSE))
+              {
+                wrap(callback, "While calling 'dispose' callbacks");
+              }
+          });
       }
 
     /***********************************************************************************************************************************************************
@@ -30,12 +30,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import it.tidalwave.ui.core.role.LightweightRole;
 import it.tidalwave.ui.core.role.Styleable;
 import lombok.ToString;
 
 /***************************************************************************************************************************************************************
  *
- * A default implementation of {@link Styleable}. This class is not part of the public API.
+ * A default implementation of {@link Styleable}. Since its styles can't be changed, it's a {@link LightweightRole}. This class
+ * is not part of the public API.
  * 
  * @stereotype Role
  * 
@@ -43,7 +45,7 @@ import lombok.ToString;
  *
  **************************************************************************************************************************************************************/
 @Nonnull @ToString
-public class DefaultStyleable implements Styleable
+public class DefaultStyleable implements Styleable, LightweightRole
   {
     private final List<String> styles = new ArrayList<>();
     
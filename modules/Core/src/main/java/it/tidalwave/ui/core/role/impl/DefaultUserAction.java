@@ -29,7 +29,7 @@ import jakarta.annotation.Nonnull;
 import java.util.Collection;
 import it.tidalwave.util.As;
 import it.tidalwave.util.Callback;
-import it.tidalwave.ui.core.BoundProperty;
+import it.tidalwave.ui.core.BoundBooleanProperty;
 import it.tidalwave.ui.core.role.UserAction;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -47,7 +47,7 @@ import static it.tidalwave.ui.core.role.Displayable._Displayable_;
 public class DefaultUserAction implements UserAction
   {
     @Getter @Accessors(fluent = true)
-    private final BoundProperty<Boolean> enabled = new BoundProperty<>(true);
+    private final BoundBooleanProperty enabled = new BoundBooleanProperty(true);
 
     @Delegate @Nonnull
     private final As as;
@@ -62,7 +62,7 @@ public class DefaultUserAction implements UserAction
     public DefaultUserAction (@Nonnull final Callback callback, @Nonnull final Collection<Object> roles)
       {
         this.callback = callback;
-        this.as = As.forObject(this, roles);
+        this.as = new IndexedAs(this, roles);
       }
 
     /***********************************************************************************************************************************************************
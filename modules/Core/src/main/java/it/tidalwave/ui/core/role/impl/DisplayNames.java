@@ -0,0 +1,241 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core.role.impl;
+
+import javax.annotation.CheckForNull;
+import jakarta.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/***************************************************************************************************************************************************************
+ *
+ * An immutable snapshot of localized display names, stored in two small parallel arrays sorted by {@code Locale}.
+ * Changes create a new snapshot, so an old snapshot can be safely shared, for instance as the old value of a change
+ * event, without copying. Lookups are linear, which is faster than hashing for the few locales usually present.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+final class DisplayNames extends AbstractMap<Locale, String>
+  {
+    /** {@code Locale} is not {@code Comparable}, so it's sorted by its string representation. */
+    static final Comparator<Locale> LOCALE_COMPARATOR = Comparator.comparing(Locale::toString);
+
+    private static final Locale[] NO_LOCALES = new Locale[0];
+
+    private static final String[] NO_NAMES = new String[0];
+
+    static final DisplayNames EMPTY = new DisplayNames(NO_LOCALES, NO_NAMES);
+
+    @Nonnull
+    private final Locale[] locales;
+
+    @Nonnull
+    private final String[] names;
+
+    @CheckForNull
+    private volatile SortedSet<Locale> localeSet;
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private DisplayNames (@Nonnull final Locale[] locales, @Nonnull final String[] names)
+      {
+        this.locales = locales;
+        this.names = names;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return a snapshot with the given display name added or replaced}. If the display name is unchanged, this
+     * object is returned.
+     *
+     * @param   locale        the {@code Locale}
+     * @param   displayName   the display name
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public DisplayNames with (@Nonnull final Locale locale, @Nonnull final String displayName)
+      {
+        final var index = indexOf(locale);
+
+        if (index >= 0)
+          {
+            if (names[index].equals(displayName))
+              {
+                return this;
+              }
+
+            final var newNames = names.clone();
+            newNames[index] = displayName;
+            return new DisplayNames(locales, newNames);
+          }
+
+        final var insertion = -(Arrays.binarySearch(locales, locale, LOCALE_COMPARATOR) + 1);
+        final var newLocales = new Locale[locales.length + 1];
+        final var newNames = new String[names.length + 1];
+        System.arraycopy(locales, 0, newLocales, 0, insertion);
+        System.arraycopy(names, 0, newNames, 0, insertion);
+        newLocales[insertion] = locale;
+        newNames[insertion] = displayName;
+        System.arraycopy(locales, insertion, newLocales, insertion + 1, locales.length - insertion);
+        System.arraycopy(names, insertion, newNames, insertion + 1, names.length - insertion);
+        return new DisplayNames(newLocales, newNames);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return a snapshot with the given display names added or replaced}.
+     *
+     * @param   displayNames  the display names
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public DisplayNames withAll (@Nonnull final Map<Locale, String> displayNames)
+      {
+        var result = this;
+
+        for (final var entry : displayNames.entrySet())
+          {
+            result = result.with(entry.getKey(), entry.getValue());
+          }
+
+        return result;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the {@code Locale}s}, as an unmodifiable set which is computed only once per snapshot.
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public SortedSet<Locale> locales()
+      {
+        var result = localeSet;
+
+        if (result == null)
+          {
+            final var set = new TreeSet<>(LOCALE_COMPARATOR);
+            set.addAll(Arrays.asList(locales));
+            localeSet = result = Collections.unmodifiableSortedSet(set);
+          }
+
+        return result;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @CheckForNull
+    public String get (@CheckForNull final Object key)
+      {
+        final var index = indexOf(key);
+        return (index >= 0) ? names[index] : null;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public boolean containsKey (@CheckForNull final Object key)
+      {
+        return indexOf(key) >= 0;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public int size()
+      {
+        return locales.length;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public Set<Entry<Locale, String>> entrySet()
+      {
+        return new AbstractSet<>()
+          {
+            @Override @Nonnull
+            public Iterator<Entry<Locale, String>> iterator()
+              {
+                return new Iterator<>()
+                  {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext()
+                      {
+                        return index < locales.length;
+                      }
+
+                    @Override @Nonnull
+                    public Entry<Locale, String> next()
+                      {
+                        if (index >= locales.length)
+                          {
+                            throw new NoSuchElementException();
+                          }
+
+                        final var entry = new SimpleImmutableEntry<>(locales[index], names[index]);
+                        index++;
+                        return entry;
+                      }
+                  };
+              }
+
+            @Override
+            public int size()
+              {
+                return locales.length;
+              }
+          };
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private int indexOf (@CheckForNull final Object locale)
+      {
+        for (var i = 0; i < locales.length; i++)
+          {
+            if (locales[i].equals(locale))
+              {
+                return i;
+              }
+          }
+
+        return -1;
+      }
+  }
@@ -26,7 +26,6 @@
 package it.tidalwave.ui.core.role.impl;
 
 import jakarta.annotation.Nonnull;
-import java.text.Collator;
 import java.util.Comparator;
 import java.io.Serializable;
 import it.tidalwave.ui.core.role.Displayable;
@@ -58,6 +57,6 @@ public final class DisplayableComparator implements Comparator<Displayable>, Ser
     @Override
     public int compare (@Nonnull final Displayable d1, @Nonnull final Displayable d2)
       {
-        return Collator.getInstance().compare(d1.getDisplayName(), d2.getDisplayName());
+        return CollationKeySorter.collator().compare(d1.getDisplayName(), d2.getDisplayName());
       }
   }
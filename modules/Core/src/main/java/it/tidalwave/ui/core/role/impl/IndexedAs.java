@@ -0,0 +1,135 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core.role.impl;
+
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Predicate;
+import it.tidalwave.util.As;
+import it.tidalwave.util.AsException;
+import it.tidalwave.util.RoleFactory;
+
+/***************************************************************************************************************************************************************
+ *
+ * An implementation of {@link As} that keeps local roles in a flat array scanned by means of {@link RoleIndex}, and only
+ * falls back to the global role lookup when no local role matches. {@link RoleFactory} instances are resolved once, at
+ * construction time.
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+final class IndexedAs implements As
+  {
+    private static final Object[] NO_ROLES = new Object[0];
+
+    @Nonnull
+    private final Object[] roles;
+
+    @Nonnull
+    private final As globalRoles;
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    IndexedAs (@Nonnull final Object owner, @Nonnull final Collection<Object> roles)
+      {
+        this.roles = roles.isEmpty() ? NO_ROLES : RoleFactory.resolveFactories(owner, roles).toArray();
+        this.globalRoles = As.forObject(owner);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public <T> T as (@Nonnull final Class<? extends T> roleType)
+      {
+        return maybeAs(roleType).orElseThrow(() -> new AsException(roleType));
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public <T> Optional<T> maybeAs (@Nonnull final Class<? extends T> roleType)
+      {
+        final var index = RoleIndex.indexOf(roles, roleType, 0);
+        return (index >= 0) ? Optional.of(roleType.cast(RoleIndex.roleAt(roles, index))) : globalRoles.maybeAs(roleType);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public <T> Collection<T> asMany (@Nonnull final Class<? extends T> roleType)
+      {
+        final var result = new ArrayList<T>();
+        anyRole(roleType, role ->
+          {
+            result.add(role);
+            return false;
+          });
+
+        return result;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns the local role of the given type, only if it's a {@link it.tidalwave.ui.core.role.LightweightRole}. Global
+     * roles are not searched, since their lookup might be expensive.
+     *
+     * @param   roleType    the requested role type
+     * @return              the role, if lightweight
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    <T> Optional<T> maybeAsLightweight (@Nonnull final Class<? extends T> roleType)
+      {
+        return RoleIndex.lightweightRole(roles, roleType);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return whether there is a local role of the given type}. Global roles are not searched.
+     *
+     * @param   roleType    the requested role type
+     **********************************************************************************************************************************************************/
+    boolean hasLocalRole (@Nonnull final Class<?> roleType)
+      {
+        return RoleIndex.indexOf(roles, roleType, 0) >= 0;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns whether any of the local or global roles compatible with the given type matches a predicate, in the same
+     * order as {@link #asMany(Class)}, stopping at the first match.
+     *
+     * @param   roleType    the requested role type
+     * @param   predicate   the predicate
+     * @return              {@code true} if a role matched
+     **********************************************************************************************************************************************************/
+    <T> boolean anyRole (@Nonnull final Class<? extends T> roleType, @Nonnull final Predicate<? super T> predicate)
+      {
+        return RoleIndex.anyRole(roles, roleType, predicate) || RoleIndex.anyRole(globalRoles, roleType, predicate);
+      }
+  }
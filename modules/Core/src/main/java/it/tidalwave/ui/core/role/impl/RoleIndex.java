@@ -0,0 +1,200 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core.role.impl;
+
+import jakarta.annotation.Nonnull;
+import java.util.Optional;
+import java.util.function.Predicate;
+import it.tidalwave.util.As;
+import it.tidalwave.ui.core.role.LazyRole;
+import it.tidalwave.ui.core.role.LightweightRole;
+import it.tidalwave.ui.core.role.PresentationModel;
+import lombok.experimental.UtilityClass;
+
+/***************************************************************************************************************************************************************
+ *
+ * A process-wide index of the assignability relation between requested role types and the classes of role candidates,
+ * backed by {@link ClassValue}. Since the set of role classes in an application is small and stable, once warmed up
+ * a role lookup becomes a plain scan over the array of candidates, without any reflective call. {@link LazyRole}
+ * candidates are matched by their declared type and only resolved when they are actually returned.
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@UtilityClass
+class RoleIndex
+  {
+    /** requested role type → (candidate class → assignable). */
+    private static final ClassValue<ClassValue<Boolean>> ASSIGNABILITY = new ClassValue<>()
+      {
+        @Override @Nonnull
+        protected ClassValue<Boolean> computeValue (@Nonnull final Class<?> roleType)
+          {
+            return new ClassValue<>()
+              {
+                @Override @Nonnull
+                protected Boolean computeValue (@Nonnull final Class<?> candidateType)
+                  {
+                    return roleType.isAssignableFrom(candidateType);
+                  }
+              };
+          }
+      };
+
+    /***********************************************************************************************************************************************************
+     * Returns whether a candidate of the given class can be used as the given role type.
+     *
+     * @param   roleType        the requested role type
+     * @param   candidateType   the class of the candidate
+     * @return                  {@code true} if assignable
+     **********************************************************************************************************************************************************/
+    public static boolean isAssignable (@Nonnull final Class<?> roleType, @Nonnull final Class<?> candidateType)
+      {
+        return ASSIGNABILITY.get(roleType).get(candidateType);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns the position of the first role, starting from the given index, which is compatible with the given type.
+     *
+     * @param   roles       the ordered role candidates
+     * @param   roleType    the requested role type
+     * @param   from        the index to start the scan from
+     * @return              the position of the role or {@code -1} if not found
+     **********************************************************************************************************************************************************/
+    public static int indexOf (@Nonnull final Object[] roles, @Nonnull final Class<?> roleType, final int from)
+      {
+        if (roles.length > from)
+          {
+            final var index = ASSIGNABILITY.get(roleType);
+
+            for (var i = from; i < roles.length; i++)
+              {
+                final var role = roles[i];
+                final var candidateType = (role instanceof LazyRole) ? ((LazyRole<?>)role).getRoleType() : role.getClass();
+
+                if (index.get(candidateType))
+                  {
+                    return i;
+                  }
+              }
+          }
+
+        return -1;
+      }
+  
+    /***********************************************************************************************************************************************************
+     * Returns the role at the given position, resolving it if it is a {@link LazyRole}.
+     *
+     * @param   roles       the ordered role candidates
+     * @param   index       the position
+     * @return              the role
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static Object roleAt (@Nonnull final Object[] roles, final int index)
+      {
+        final var role = roles[index];
+        return (role instanceof LazyRole) ? ((LazyRole<?>)role).get() : role;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns the first role compatible with the given type, only if it's a {@link LightweightRole}. A {@link LazyRole}
+     * is never resolved, so the call is always cheap.
+     *
+     * @param   roles       the ordered role candidates
+     * @param   roleType    the requested role type
+     * @return              the role, if lightweight
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static <T> Optional<T> lightweightRole (@Nonnull final Object[] roles, @Nonnull final Class<? extends T> roleType)
+      {
+        final var index = indexOf(roles, roleType, 0);
+
+        if (index >= 0)
+          {
+            final var role = roles[index];
+
+            if (role instanceof LightweightRole)
+              {
+                return Optional.of(roleType.cast(role));
+              }
+          }
+
+        return Optional.empty();
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns whether any of the roles compatible with the given type matches a predicate, stopping at the first match.
+     *
+     * @param   roles       the ordered role candidates
+     * @param   roleType    the requested role type
+     * @param   predicate   the predicate
+     * @return              {@code true} if a role matched
+     **********************************************************************************************************************************************************/
+    public static <T> boolean anyRole (@Nonnull final Object[] roles,
+                                       @Nonnull final Class<? extends T> roleType,
+                                       @Nonnull final Predicate<? super T> predicate)
+      {
+        for (var i = indexOf(roles, roleType, 0); i >= 0; i = indexOf(roles, roleType, i + 1))
+          {
+            if (predicate.test(roleType.cast(roleAt(roles, i))))
+              {
+                return true;
+              }
+          }
+
+        return false;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns whether any of the roles of the given object compatible with the given type matches a predicate, stopping
+     * at the first match. If the object is a {@link PresentationModel}, no intermediate collection is created.
+     *
+     * @param   as          the object
+     * @param   roleType    the requested role type
+     * @param   predicate   the predicate
+     * @return              {@code true} if a role matched
+     **********************************************************************************************************************************************************/
+    public static <T> boolean anyRole (@Nonnull final As as,
+                                       @Nonnull final Class<? extends T> roleType,
+                                       @Nonnull final Predicate<? super T> predicate)
+      {
+        if (as instanceof PresentationModel)
+          {
+            return ((PresentationModel)as).anyRole(roleType, predicate);
+          }
+
+        for (final T role : as.<T>asMany(roleType))
+          {
+            if (predicate.test(role))
+              {
+                return true;
+              }
+          }
+
+        return false;
+      }
+  }
@@ -30,13 +30,17 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import it.tidalwave.util.As;
+import it.tidalwave.util.Task;
 import it.tidalwave.util.spi.ArrayListCollectorSupport;
 import it.tidalwave.role.Composite;
 import it.tidalwave.role.SimpleComposite;
+import it.tidalwave.role.impl.ContextSnapshot;
 import it.tidalwave.ui.core.role.PresentationModel;
 import static it.tidalwave.util.Parameters.r;
 import static it.tidalwave.ui.core.role.Presentable._Presentable_;
@@ -120,6 +124,53 @@ public class PresentationModelCollectors extends ArrayListCollectorSupport<Prese
         return toCompositePresentationModel(i, o -> new Object[0]);
       }
 
+    /***********************************************************************************************************************************************************
+     * A parallel version of {@link #toCompositePresentationModel(java.lang.Iterable, java.util.function.Function)}, which
+     * creates the {@code PresentationModel}s in the given {@link ForkJoinPool}. The encounter order of the objects is
+     * preserved in the resulting composite, and the DCI contexts that are active in the calling thread are made available
+     * to the {@link it.tidalwave.ui.core.role.Presentable} roles, even though they are invoked in other threads.
+     *
+     * @param   <T>             the type of the objects
+     * @param   i               the {@code Iterable}
+     * @param   roleCreator     the function to create roles
+     * @param   pool            the pool to use
+     * @return                  the composite {@code PresentationModel}
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static <T extends As> PresentationModel toCompositePresentationModelInParallel (
+            @Nonnull final Iterable<? extends T> i,
+            @Nonnull final Function<? super T, Object> roleCreator,
+            @Nonnull final ForkJoinPool pool)
+      {
+        final var contextSnapshot = new ContextSnapshot(i);
+        // A parallel stream started from within a ForkJoinPool runs in that pool
+        final var childrenPms = pool.submit(() -> StreamSupport.stream(i.spliterator(), true)
+                                                               .map(o -> createPresentationModel(contextSnapshot, o, roleCreator))
+                                                               .collect(Collectors.toList()))
+                                    .join();
+        return childrenPms.stream().collect(toCompositePresentationModel());
+      }
+
+    /***********************************************************************************************************************************************************
+     * A facility version of
+     * {@link #toCompositePresentationModelInParallel(java.lang.Iterable, java.util.function.Function, ForkJoinPool)} which
+     * uses the common {@link ForkJoinPool}.
+     *
+     * @param   <T>             the type of the objects
+     * @param   i               the {@code Iterable}
+     * @param   roleCreator     the function to create roles
+     * @return                  the composite {@code PresentationModel}
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static <T extends As> PresentationModel toCompositePresentationModelInParallel (
+            @Nonnull final Iterable<? extends T> i,
+            @Nonnull final Function<? super T, Object> roleCreator)
+      {
+        return toCompositePresentationModelInParallel(i, roleCreator, ForkJoinPool.commonPool());
+      }
+
     /***********************************************************************************************************************************************************
      * {@inheritDoc}
      **********************************************************************************************************************************************************/
@@ -129,6 +180,24 @@ public class PresentationModelCollectors extends ArrayListCollectorSupport<Prese
         return childrenPms -> PresentationModel.of("", r(roles, SimpleComposite.ofCloned(childrenPms)));
       }
     
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    private static <T extends As> PresentationModel createPresentationModel (@Nonnull final ContextSnapshot contextSnapshot,
+                                                                             @Nonnull final T object,
+                                                                             @Nonnull final Function<? super T, Object> roleCreator)
+      {
+        return contextSnapshot.runWithContexts(new Task<>()
+          {
+            @Override @Nonnull
+            public PresentationModel run()
+              {
+                return object.as(_Presentable_).createPresentationModel(r(roleCreator.apply(object)));
+              }
+          });
+      }
+
     /***********************************************************************************************************************************************************
      *
      **********************************************************************************************************************************************************/
@@ -25,6 +25,7 @@
  */
 package it.tidalwave.ui.core.role.spi;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import java.util.Collection;
 import java.util.List;
@@ -87,14 +88,62 @@ public class SimpleCompositePresentable implements Presentable
                   {
                     final List<As> children = scp.datum.maybeAs(_SimpleComposite_)
                                                        .map(c -> c.findChildren().results()).orElse(emptyList());
-                    return children.stream()
-                                   .map(child -> child.maybeAs(_Presentable_)
-                                                      .orElseGet(() -> new SimpleCompositePresentable(child)))
-                                   .map(presentable -> presentable.createPresentationModel(roles))
-                                   .collect(toList());
+                    return createPresentationModels(children);
                   }
               });
           }
+
+        /*******************************************************************************************************************************************************
+         * Pushes {@code from} and {@code max} down to the {@code Finder} of the datum, so only the requested range of
+         * children is retrieved and gets a {@code PresentationModel}. This allows to page large composites.
+         ******************************************************************************************************************************************************/
+        @Override @Nonnull
+        protected List<PresentationModel> computeNeededResults()
+          {
+            return scp.contextSnapshot.runWithContexts(new Task<>()
+              {
+                @Override @Nonnull
+                public List<PresentationModel> run()
+                  {
+                    final List<As> children = scp.datum.maybeAs(_SimpleComposite_)
+                                                       .map(c -> c.findChildren().from(firstResult).max(maxResults).results())
+                                                       .orElse(emptyList());
+                    return createPresentationModels(children);
+                  }
+              });
+          }
+
+        /*******************************************************************************************************************************************************
+         * {@inheritDoc}
+         ******************************************************************************************************************************************************/
+        @Override @Nonnegative
+        public int count()
+          {
+            final Integer total = scp.contextSnapshot.runWithContexts(new Task<>()
+              {
+                @Override @Nonnull
+                public Integer run()
+                  {
+                    return scp.datum.maybeAs(_SimpleComposite_).map(c -> c.findChildren().count()).orElse(0);
+                  }
+              });
+
+            return Math.max(0, Math.min(total - firstResult, maxResults));
+          }
+
+        /*******************************************************************************************************************************************************
+         * Creates the {@code PresentationModel}s of children. Children without their own {@link Presentable} get the
+         * same {@link PresentationModelFactory} as their parent.
+         ******************************************************************************************************************************************************/
+        @Nonnull
+        private List<PresentationModel> createPresentationModels (@Nonnull final List<As> children)
+          {
+            return children.stream()
+                           .map(child -> child.maybeAs(_Presentable_)
+                                              .orElseGet(() -> new SimpleCompositePresentable(child, scp.defaultPresentationModelFactory)))
+                           .map(presentable -> presentable.createPresentationModel(roles))
+                           .collect(toList());
+          }
       }
 
     private static final long serialVersionUID = 324646965695684L;
@@ -0,0 +1,274 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core.spi;
+
+import javax.annotation.CheckForNull;
+import jakarta.annotation.Nonnull;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/***************************************************************************************************************************************************************
+ *
+ * A lock-free, copy-on-write array of listeners, meant for sources that fire often and change their listeners seldom.
+ * Firing doesn't require any allocation, since callers iterate directly on a snapshot of the entries:
+ *
+ * <pre>
+ * for (final var entry : listeners.entries())
+ *   {
+ *     final var listener = listeners.resolve(entry);
+ *
+ *     if (listener != null)
+ *       {
+ *         listener.valueChanged(oldValue, newValue);
+ *       }
+ *   }
+ * </pre>
+ *
+ * Listeners can be added weakly: in this case they are removed as soon as they are found to be garbage collected.
+ *
+ * @param   <L>     the type of the listener
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public final class ListenerArray<L>
+  {
+    private static final Object[] NO_ENTRIES = new Object[0];
+
+    /** The entry for a weakly referenced listener. */
+    private static final class WeakEntry extends WeakReference<Object>
+      {
+        WeakEntry (@Nonnull final Object listener)
+          {
+            super(listener);
+          }
+      }
+
+    private final AtomicReference<Object[]> entries = new AtomicReference<>(NO_ENTRIES);
+
+    /***********************************************************************************************************************************************************
+     * Adds a listener.
+     *
+     * @param   listener    the listener
+     **********************************************************************************************************************************************************/
+    public void add (@Nonnull final L listener)
+      {
+        append(listener);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Adds a listener that is only weakly referenced.
+     *
+     * @param   listener    the listener
+     **********************************************************************************************************************************************************/
+    public void addWeak (@Nonnull final L listener)
+      {
+        append(new WeakEntry(listener));
+      }
+
+    /***********************************************************************************************************************************************************
+     * Removes a listener. If the listener was added more than once, only one instance is removed.
+     *
+     * @param   listener    the listener
+     * @return              {@code true} if the listener was found
+     **********************************************************************************************************************************************************/
+    public boolean remove (@Nonnull final L listener)
+      {
+        return removeFirst(listener::equals);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Removes the first listener matching the given predicate.
+     *
+     * @param   predicate   the predicate
+     * @return              {@code true} if a listener was found
+     **********************************************************************************************************************************************************/
+    public boolean removeFirst (@Nonnull final Predicate<? super L> predicate)
+      {
+        for (;;)
+          {
+            final var current = entries.get();
+            var index = -1;
+
+            for (var i = 0; (i < current.length) && (index < 0); i++)
+              {
+                final var listener = peek(current[i]);
+
+                if ((listener != null) && predicate.test(listener))
+                  {
+                    index = i;
+                  }
+              }
+
+            if ((index < 0) || removeAt(current, index))
+              {
+                return index >= 0;
+              }
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Removes all the listeners.
+     **********************************************************************************************************************************************************/
+    public void clear()
+      {
+        entries.set(NO_ENTRIES);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return whether there are no listeners}. Weak listeners that have been garbage collected but not yet removed are
+     * still counted.
+     **********************************************************************************************************************************************************/
+    public boolean isEmpty()
+      {
+        return entries.get().length == 0;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns a snapshot of the entries, to be passed to {@link #resolve(Object)}. The array must not be modified.
+     *
+     * @return              the entries
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public Object[] entries()
+      {
+        return entries.get();
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns the listener for an entry. If the entry refers to a weak listener that has been garbage collected, the
+     * entry is removed and {@code null} is returned.
+     *
+     * @param   entry       the entry
+     * @return              the listener, or {@code null}
+     **********************************************************************************************************************************************************/
+    @CheckForNull @SuppressWarnings("unchecked")
+    public L resolve (@Nonnull final Object entry)
+      {
+        if (entry instanceof WeakEntry)
+          {
+            final var listener = ((WeakEntry)entry).get();
+
+            if (listener == null)
+              {
+                removeEntry(entry);
+              }
+
+            return (L)listener;
+          }
+
+        return (L)entry;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the listeners currently registered}.
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public List<L> toList()
+      {
+        final var current = entries.get();
+        final List<L> result = new ArrayList<>(current.length);
+
+        for (final var entry : current)
+          {
+            final var listener = resolve(entry);
+
+            if (listener != null)
+              {
+                result.add(listener);
+              }
+          }
+
+        return result;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns the listener for an entry, without removing collected weak listeners.
+     **********************************************************************************************************************************************************/
+    @CheckForNull @SuppressWarnings("unchecked")
+    private L peek (@Nonnull final Object entry)
+      {
+        return (L)((entry instanceof WeakEntry) ? ((WeakEntry)entry).get() : entry);
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private void append (@Nonnull final Object entry)
+      {
+        for (;;)
+          {
+            final var current = entries.get();
+            final var next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = entry;
+
+            if (entries.compareAndSet(current, next))
+              {
+                return;
+              }
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private void removeEntry (@Nonnull final Object entry)
+      {
+        for (;;)
+          {
+            final var current = entries.get();
+            var index = -1;
+
+            for (var i = 0; (i < current.length) && (index < 0); i++)
+              {
+                if (current[i] == entry)
+                  {
+                    index = i;
+                  }
+              }
+
+            if ((index < 0) || removeAt(current, index))
+              {
+                return;
+              }
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private boolean removeAt (@Nonnull final Object[] current, final int index)
+      {
+        final var next = (current.length == 1) ? NO_ENTRIES : new Object[current.length - 1];
+        System.arraycopy(current, 0, next, 0, index);
+        System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+        return entries.compareAndSet(current, next);
+      }
+  }
@@ -0,0 +1,349 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core.spi;
+
+import jakarta.annotation.Nonnull;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/***************************************************************************************************************************************************************
+ *
+ * A replacement for {@link java.beans.PropertyChangeSupport} that is tailored for objects that fire often and change
+ * their listeners seldom. It offers the same public methods, so it can be used with Lombok's {@code @Delegate}, but:
+ *
+ * <ul>
+ * <li>it's lock-free, since listeners are kept in a copy-on-write {@link ListenerArray};</li>
+ * <li>a {@link PropertyChangeEvent} is created only if there's at least a {@link PropertyChangeListener} interested
+ *     in it;</li>
+ * <li>a {@link ValueListener} receives the old and the new value without any event object.</li>
+ * </ul>
+ *
+ * As with {@code PropertyChangeSupport}, listeners are not notified when the old and the new value are equal and not
+ * {@code null}.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public final class ListenerRegistry
+  {
+    /***********************************************************************************************************************************************************
+     * A listener that is notified of any change fired by the registry, without an event object.
+     **********************************************************************************************************************************************************/
+    @FunctionalInterface
+    public static interface ValueListener
+      {
+        /*******************************************************************************************************************************************************
+         * Notifies that the value has changed.
+         *
+         * @param   oldValue    the old value
+         * @param   newValue    the new value
+         ******************************************************************************************************************************************************/
+        public void valueChanged (Object oldValue, Object newValue);
+      }
+
+    @Nonnull
+    private final Object source;
+
+    /** Both plain listeners and {@link PropertyChangeListenerProxy} instances for named listeners. */
+    private final ListenerArray<PropertyChangeListener> listeners = new ListenerArray<>();
+
+    private final ListenerArray<ValueListener> valueListeners = new ListenerArray<>();
+
+    /***********************************************************************************************************************************************************
+     * Creates a new instance.
+     *
+     * @param   source      the source of the events
+     **********************************************************************************************************************************************************/
+    public ListenerRegistry (@Nonnull final Object source)
+      {
+        this.source = Objects.requireNonNull(source, "source");
+      }
+
+    /***********************************************************************************************************************************************************
+     * Adds a {@link PropertyChangeListener} for all the properties. If it's a {@link PropertyChangeListenerProxy}, it's
+     * registered for the named property only.
+     *
+     * @param   listener    the listener
+     **********************************************************************************************************************************************************/
+    public void addPropertyChangeListener (@Nonnull final PropertyChangeListener listener)
+      {
+        listeners.add(listener);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Adds a {@link PropertyChangeListener} for a single property.
+     *
+     * @param   propertyName  the name of the property
+     * @param   listener      the listener
+     **********************************************************************************************************************************************************/
+    public void addPropertyChangeListener (@Nonnull final String propertyName, @Nonnull final PropertyChangeListener listener)
+      {
+        listeners.add(new PropertyChangeListenerProxy(propertyName, listener));
+      }
+
+    /***********************************************************************************************************************************************************
+     * Removes a {@link PropertyChangeListener}. If it's a {@link PropertyChangeListenerProxy}, it's removed from the
+     * named property.
+     *
+     * @param   listener    the listener
+     **********************************************************************************************************************************************************/
+    public void removePropertyChangeListener (@Nonnull final PropertyChangeListener listener)
+      {
+        if (listener instanceof PropertyChangeListenerProxy)
+          {
+            final var proxy = (PropertyChangeListenerProxy)listener;
+            removePropertyChangeListener(proxy.getPropertyName(), proxy.getListener());
+          }
+        else
+          {
+            listeners.remove(listener);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Removes a {@link PropertyChangeListener} for a single property.
+     *
+     * @param   propertyName  the name of the property
+     * @param   listener      the listener
+     **********************************************************************************************************************************************************/
+    public void removePropertyChangeListener (@Nonnull final String propertyName, @Nonnull final PropertyChangeListener listener)
+      {
+        listeners.removeFirst(l -> (l instanceof PropertyChangeListenerProxy)
+                                   && propertyName.equals(((PropertyChangeListenerProxy)l).getPropertyName())
+                                   && ((PropertyChangeListenerProxy)l).getListener().equals(listener));
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return all the registered {@link PropertyChangeListener}s}. Listeners for a single property are returned as
+     * {@link PropertyChangeListenerProxy} instances.
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public PropertyChangeListener[] getPropertyChangeListeners()
+      {
+        return listeners.toList().toArray(new PropertyChangeListener[0]);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns the {@link PropertyChangeListener}s registered for a single property.
+     *
+     * @param   propertyName  the name of the property
+     * @return                the listeners
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public PropertyChangeListener[] getPropertyChangeListeners (@Nonnull final String propertyName)
+      {
+        final List<PropertyChangeListener> result = new ArrayList<>();
+
+        for (final var listener : listeners.toList())
+          {
+            if ((listener instanceof PropertyChangeListenerProxy)
+                && propertyName.equals(((PropertyChangeListenerProxy)listener).getPropertyName()))
+              {
+                result.add(((PropertyChangeListenerProxy)listener).getListener());
+              }
+          }
+
+        return result.toArray(new PropertyChangeListener[0]);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Adds a {@link ValueListener}.
+     *
+     * @param   listener    the listener
+     **********************************************************************************************************************************************************/
+    public void addValueListener (@Nonnull final ValueListener listener)
+      {
+        valueListeners.add(listener);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Removes a {@link ValueListener}.
+     *
+     * @param   listener    the listener
+     **********************************************************************************************************************************************************/
+    public void removeValueListener (@Nonnull final ValueListener listener)
+      {
+        valueListeners.remove(listener);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns whether there is any listener that would be notified of a change of the given property.
+     *
+     * @param   propertyName  the name of the property
+     * @return                {@code true} if there are listeners
+     **********************************************************************************************************************************************************/
+    public boolean hasListeners (@Nonnull final String propertyName)
+      {
+        if (!valueListeners.isEmpty())
+          {
+            return true;
+          }
+
+        for (final var entry : listeners.entries())
+          {
+            final var listener = listeners.resolve(entry);
+
+            if ((listener != null) && isInterested(listener, propertyName))
+              {
+                return true;
+              }
+          }
+
+        return false;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Fires a change of a property.
+     *
+     * @param   propertyName  the name of the property
+     * @param   oldValue      the old value
+     * @param   newValue      the new value
+     **********************************************************************************************************************************************************/
+    public void firePropertyChange (@Nonnull final String propertyName, final Object oldValue, final Object newValue)
+      {
+        if ((oldValue != null) && (newValue != null) && oldValue.equals(newValue))
+          {
+            return;
+          }
+
+        for (final var entry : valueListeners.entries())
+          {
+            final var listener = valueListeners.resolve(entry);
+
+            if (listener != null)
+              {
+                listener.valueChanged(oldValue, newValue);
+              }
+          }
+
+        PropertyChangeEvent event = null;
+
+        for (final var entry : listeners.entries())
+          {
+            final var listener = listeners.resolve(entry);
+
+            if ((listener != null) && isInterested(listener, propertyName))
+              {
+                if (event == null)
+                  {
+                    event = new PropertyChangeEvent(source, propertyName, oldValue, newValue);
+                  }
+
+                target(listener).propertyChange(event);
+              }
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Fires a change of an {@code int} property.
+     *
+     * @param   propertyName  the name of the property
+     * @param   oldValue      the old value
+     * @param   newValue      the new value
+     **********************************************************************************************************************************************************/
+    public void firePropertyChange (@Nonnull final String propertyName, final int oldValue, final int newValue)
+      {
+        if (oldValue != newValue)
+          {
+            firePropertyChange(propertyName, Integer.valueOf(oldValue), Integer.valueOf(newValue));
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Fires a change of a {@code boolean} property.
+     *
+     * @param   propertyName  the name of the property
+     * @param   oldValue      the old value
+     * @param   newValue      the new value
+     **********************************************************************************************************************************************************/
+    public void firePropertyChange (@Nonnull final String propertyName, final boolean oldValue, final boolean newValue)
+      {
+        if (oldValue != newValue)
+          {
+            firePropertyChange(propertyName, Boolean.valueOf(oldValue), Boolean.valueOf(newValue));
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Fires an event.
+     *
+     * @param   event         the event
+     **********************************************************************************************************************************************************/
+    public void firePropertyChange (@Nonnull final PropertyChangeEvent event)
+      {
+        final var oldValue = event.getOldValue();
+        final var newValue = event.getNewValue();
+
+        if ((oldValue != null) && (newValue != null) && oldValue.equals(newValue))
+          {
+            return;
+          }
+
+        for (final var entry : valueListeners.entries())
+          {
+            final var listener = valueListeners.resolve(entry);
+
+            if (listener != null)
+              {
+                listener.valueChanged(oldValue, newValue);
+              }
+          }
+
+        for (final var entry : listeners.entries())
+          {
+            final var listener = listeners.resolve(entry);
+
+            if ((listener != null) && isInterested(listener, event.getPropertyName()))
+              {
+                target(listener).propertyChange(event);
+              }
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private static boolean isInterested (@Nonnull final PropertyChangeListener listener, final String propertyName)
+      {
+        return !(listener instanceof PropertyChangeListenerProxy)
+               || ((propertyName != null) && propertyName.equals(((PropertyChangeListenerProxy)listener).getPropertyName()));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    private static PropertyChangeListener target (@Nonnull final PropertyChangeListener listener)
+      {
+        return (listener instanceof PropertyChangeListenerProxy) ? ((PropertyChangeListenerProxy)listener).getListener()
+                                                                 : listener;
+      }
+  }
@@ -47,6 +47,12 @@ public class AndFunction extends BooleanBoundFunctionSupport
         super(sources);
       }
 
+    @Override
+    protected final boolean function (final int trueCount, final int sourceCount)
+      {
+        return trueCount == sourceCount;
+      }
+
     @Override
     protected final boolean function()
       {
@@ -28,9 +28,18 @@ package it.tidalwave.ui.function;
 import jakarta.annotation.Nonnull;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import it.tidalwave.ui.core.BoundBooleanProperty;
 import it.tidalwave.ui.core.ChangingSource;
 
 /***************************************************************************************************************************************************************
+ *
+ * A support for functions that compute a boolean value out of a set of boolean sources. Evaluation is incremental:
+ * the number of sources that are {@code true} is kept up to date as they change, and {@link #function(int, int)} is
+ * called with it; a {@code null} value counts as {@code false}. Listeners are notified only when the result changes.
+ * Sources can be added and removed after creation.
  *
  * @since   2.0-ALPHA-1
  * @author  Fabrizio Giudici
@@ -38,33 +47,162 @@ import it.tidalwave.ui.core.ChangingSource;
  **************************************************************************************************************************************************************/
 public abstract class BooleanBoundFunctionSupport extends BoundFunctionSupport<Boolean, Boolean>
   {
-    protected final ChangingSource<Boolean>[] sources;
+    /** The listener of a single source, which keeps track of its last known value. */
+    private final class SourceListener implements PropertyChangeListener, BoundBooleanProperty.Listener
+      {
+        @Nonnull
+        private final ChangingSource<Boolean> source;
 
-    private boolean oldValue;
+        private boolean value;
 
-    private boolean newValue;
+        private boolean active;
+
+        SourceListener (@Nonnull final ChangingSource<Boolean> source)
+          {
+            this.source = source;
+          }
 
-    private final PropertyChangeListener pcl = new PropertyChangeListener()
-      {
         @Override
         public void propertyChange (@Nonnull final PropertyChangeEvent event)
           {
-            newValue = function();
-            fireValueChanged(oldValue, newValue);
-            oldValue = newValue;
+            onSourceChange(this, Boolean.TRUE.equals(event.getNewValue()));
+          }
+
+        @Override
+        public void valueChanged (final boolean oldValue, final boolean newValue)
+          {
+            onSourceChange(this, newValue);
+          }
+
+        void register()
+          {
+            if (source instanceof BoundBooleanProperty)
+              {
+                ((BoundBooleanProperty)source).addListener(this);
+              }
+            else
+              {
+                source.addPropertyChangeListener(this);
+              }
           }
-      };
+
+        void unregister()
+          {
+            if (source instanceof BoundBooleanProperty)
+              {
+                ((BoundBooleanProperty)source).removeListener(this);
+              }
+            else
+              {
+                source.removePropertyChangeListener(this);
+              }
+          }
+      }
+
+    protected volatile ChangingSource<Boolean>[] sources;
+
+    private final List<SourceListener> sourceListeners = new ArrayList<>();
+
+    private int trueCount;
+
+    private boolean value;
 
     public BooleanBoundFunctionSupport (@Nonnull final ChangingSource<Boolean> ... sources)
       {
-        this.sources = sources;
+        this.sources = sources.clone();
 
         for (final var source : sources)
           {
-            source.addPropertyChangeListener(pcl);
+            attach(source);
+          }
+
+        value = function(trueCount, sourceListeners.size());
+      }
+
+    /***********************************************************************************************************************************************************
+     * Adds a source.
+     *
+     * @param   source    the source
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public void addSource (@Nonnull final ChangingSource<Boolean> source)
+      {
+        final boolean oldValue;
+        final boolean newValue;
+
+        synchronized (this)
+          {
+            sources = Arrays.copyOf(sources, sources.length + 1);
+            sources[sources.length - 1] = source;
+            attach(source);
+            oldValue = value;
+            newValue = value = function(trueCount, sourceListeners.size());
           }
 
-        oldValue = function();
+        if (oldValue != newValue)
+          {
+            fireValueChanged(oldValue, newValue);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Removes a source. If it was added more than once, only one instance is removed.
+     *
+     * @param   source    the source
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    @SuppressWarnings("unchecked")
+    public void removeSource (@Nonnull final ChangingSource<Boolean> source)
+      {
+        final boolean oldValue;
+        final boolean newValue;
+        SourceListener removed = null;
+
+        synchronized (this)
+          {
+            for (final var listener : sourceListeners)
+              {
+                if (listener.source == source)
+                  {
+                    removed = listener;
+                    break;
+                  }
+              }
+
+            if (removed == null)
+              {
+                return;
+              }
+
+            removed.active = false;
+            sourceListeners.remove(removed);
+            trueCount -= removed.value ? 1 : 0;
+            sources = sourceListeners.stream().map(l -> l.source).toArray(ChangingSource[]::new);
+            oldValue = value;
+            newValue = value = function(trueCount, sourceListeners.size());
+          }
+
+        removed.unregister();
+
+        if (oldValue != newValue)
+          {
+            fireValueChanged(oldValue, newValue);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Computes the result out of the number of sources that are {@code true}. The default implementation calls
+     * {@link #function()}, which evaluates all the sources; subclasses should override this method, so each change of
+     * a source costs O(1).
+     *
+     * @param   trueCount     the number of sources that are {@code true}
+     * @param   sourceCount   the number of sources
+     * @return                the result
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    protected boolean function (final int trueCount, final int sourceCount)
+      {
+        return function();
       }
 
     protected abstract boolean function();
@@ -72,6 +210,64 @@ public abstract class BooleanBoundFunctionSupport extends BoundFunctionSupport<B
     @Override @Nonnull
     public final Boolean get()
       {
-        return newValue;
+        return value;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Starts tracking a source. The listener is registered before reading the value, so no change can be missed.
+     **********************************************************************************************************************************************************/
+    private void attach (@Nonnull final ChangingSource<Boolean> source)
+      {
+        updateRank(source);
+        final var listener = new SourceListener(source);
+        listener.register();
+
+        synchronized (this)
+          {
+            listener.value = Boolean.TRUE.equals(source.get());
+            listener.active = true;
+            trueCount += listener.value ? 1 : 0;
+            sourceListeners.add(listener);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Updates the count after a change of a source and schedules the recomputation of the result.
+     **********************************************************************************************************************************************************/
+    private void onSourceChange (@Nonnull final SourceListener listener, final boolean sourceValue)
+      {
+        synchronized (this)
+          {
+            if (!listener.active || (listener.value == sourceValue))
+              {
+                return;
+              }
+
+            listener.value = sourceValue;
+            trueCount += sourceValue ? 1 : -1;
+          }
+
+        PropagationScheduler.schedule(this);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Recomputes the result, notifying listeners if it changed.
+     **********************************************************************************************************************************************************/
+    @Override
+    void propagate()
+      {
+        final boolean oldValue;
+        final boolean newValue;
+
+        synchronized (this)
+          {
+            oldValue = value;
+            newValue = value = function(trueCount, sourceListeners.size());
+          }
+
+        if (oldValue != newValue)
+          {
+            fireValueChanged(oldValue, newValue);
+          }
       }
   }
@@ -25,10 +25,17 @@
  */
 package it.tidalwave.ui.function;
 
-import java.beans.PropertyChangeSupport;
+import jakarta.annotation.Nonnull;
+import it.tidalwave.ui.core.ChangingSource;
+import it.tidalwave.ui.core.spi.ListenerArray;
+import it.tidalwave.ui.core.spi.ListenerRegistry;
 import lombok.experimental.Delegate;
 
 /***************************************************************************************************************************************************************
+ *
+ * Listeners can be registered weakly or with an expiration time by means of
+ * {@link it.tidalwave.ui.core.ChangingSource#addWeakPropertyChangeListener(java.beans.PropertyChangeListener)} and
+ * {@link it.tidalwave.ui.core.ChangingSource#addPropertyChangeListener(java.beans.PropertyChangeListener, java.time.Duration)}.
  *
  * @since   2.0-ALPHA-1
  * @author  Fabrizio Giudici
@@ -37,8 +44,14 @@ import lombok.experimental.Delegate;
 public abstract class BoundFunctionSupport<DOMAIN_TYPE, CODOMAIN_TYPE>
                   implements BoundFunction<DOMAIN_TYPE, CODOMAIN_TYPE>
   {
-    @Delegate // FIXME: weak
-    private final PropertyChangeSupport pcs = new PropertyChangeSupport(this);
+    @Delegate
+    private final ListenerRegistry listeners = new ListenerRegistry(this);
+
+    /** The rank in the graph of functions, used by {@link PropagationScheduler}; always greater than the rank of sources. */
+    volatile int rank = 1;
+
+    /** The functions that have this one as a source, weakly referenced; their rank is kept greater than this one's. */
+    private final ListenerArray<BoundFunctionSupport<?, ?>> dependents = new ListenerArray<>();
 
     /***********************************************************************************************************************************************************
      * {@inheritDoc}
@@ -46,19 +59,103 @@ public abstract class BoundFunctionSupport<DOMAIN_TYPE, CODOMAIN_TYPE>
     @Override
     public void unbindAll()
       {
-        for (final var listener : pcs.getPropertyChangeListeners().clone())
+        for (final var listener : listeners.getPropertyChangeListeners().clone())
           {
-            pcs.removePropertyChangeListener(listener);
+            listeners.removePropertyChangeListener(listener);
           }
       }
 
+    /***********************************************************************************************************************************************************
+     * Notifies listeners of a change of the value. If there is no wave of {@link PropagationScheduler} in progress, a
+     * new one is started, so functions depending on this one are recomputed in a glitch-free way.
+     *
+     * @param   oldValue  the old value
+     * @param   newValue  the new value
+     **********************************************************************************************************************************************************/
     protected void fireValueChanged (final CODOMAIN_TYPE oldValue, final CODOMAIN_TYPE newValue)
       {
-        pcs.firePropertyChange("value", oldValue, newValue);
+        final var wave = PropagationScheduler.begin();
+
+        try
+          {
+            listeners.firePropertyChange("value", oldValue, newValue);
+          }
+        finally
+          {
+            PropagationScheduler.end(wave);
+          }
       }
 
+    /***********************************************************************************************************************************************************
+     * Notifies listeners of a change of a {@code boolean} value, as {@link #fireValueChanged(Object, Object)} does.
+     *
+     * @param   oldValue  the old value
+     * @param   newValue  the new value
+     **********************************************************************************************************************************************************/
     protected void fireValueChanged (final boolean oldValue, final boolean newValue)
       {
-        pcs.firePropertyChange("value", oldValue, newValue);
+        final var wave = PropagationScheduler.begin();
+
+        try
+          {
+            listeners.firePropertyChange("value", oldValue, newValue);
+          }
+        finally
+          {
+            PropagationScheduler.end(wave);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Makes sure that the rank of this function is greater than the rank of the given source. The source keeps track
+     * of this function, so that a later increase of its rank, because of a source added to it, is propagated here.
+     *
+     * @param   source    the source
+     **********************************************************************************************************************************************************/
+    void updateRank (@Nonnull final ChangingSource<?> source)
+      {
+        if (source instanceof BoundFunctionSupport)
+          {
+            final var function = (BoundFunctionSupport<?, ?>)source;
+            function.dependents.addWeak(this);
+            raiseRank(function.rank + 1);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Raises the rank of this function to at least the given value, and the rank of its dependents accordingly.
+     *
+     * @param   minRank   the minimum rank
+     **********************************************************************************************************************************************************/
+    private void raiseRank (final int minRank)
+      {
+        final int newRank;
+
+        synchronized (this)
+          {
+            if (rank >= minRank)
+              {
+                return;
+              }
+
+            rank = newRank = minRank;
+          }
+
+        for (final var entry : dependents.entries())
+          {
+            final var dependent = dependents.resolve(entry);
+
+            if (dependent != null)
+              {
+                dependent.raiseRank(newRank + 1);
+              }
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Recomputes the value after changes of the sources, as scheduled by {@link PropagationScheduler}.
+     **********************************************************************************************************************************************************/
+    void propagate()
+      {
       }
   }
@@ -0,0 +1,151 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.function;
+
+import javax.annotation.CheckForNull;
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import it.tidalwave.ui.core.ChangingSource;
+
+/***************************************************************************************************************************************************************
+ *
+ * A function that follows its source, but only after it has stopped changing for a given delay. For instance, a
+ * search field can be debounced so that the query is executed once per pause in typing, rather than at each keystroke.
+ * Changes are notified in the thread of the {@link Scheduler}.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class DebounceFunction<T> extends BoundFunctionSupport<T, T>
+  {
+    @Nonnull
+    private final Duration delay;
+
+    @Nonnull
+    private final Scheduler scheduler;
+
+    private T value;
+
+    private T latest;
+
+    @CheckForNull
+    private Scheduler.Task task;
+
+    /***********************************************************************************************************************************************************
+     * Creates a function that debounces a source with the system scheduler.
+     *
+     * @param   source      the source
+     * @param   delay       the time the source must be stable before the change is propagated
+     * @return              the function
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static <T> DebounceFunction<T> debounce (@Nonnull final ChangingSource<T> source, @Nonnull final Duration delay)
+      {
+        return new DebounceFunction<>(source, delay, Scheduler.system());
+      }
+
+    /***********************************************************************************************************************************************************
+     * Creates a function that debounces a source.
+     *
+     * @param   source      the source
+     * @param   delay       the time the source must be stable before the change is propagated
+     * @param   scheduler   the scheduler
+     * @return              the function
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static <T> DebounceFunction<T> debounce (@Nonnull final ChangingSource<T> source,
+                                                    @Nonnull final Duration delay,
+                                                    @Nonnull final Scheduler scheduler)
+      {
+        return new DebounceFunction<>(source, delay, scheduler);
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    public DebounceFunction (@Nonnull final ChangingSource<T> source,
+                             @Nonnull final Duration delay,
+                             @Nonnull final Scheduler scheduler)
+      {
+        this.delay = delay;
+        this.scheduler = scheduler;
+        value = latest = source.get();
+        source.addPropertyChangeListener(event -> onSourceChange((T)event.getNewValue()));
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public synchronized T get()
+      {
+        return value;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Records the latest value of the source and restarts the delay.
+     **********************************************************************************************************************************************************/
+    private synchronized void onSourceChange (final T newSourceValue)
+      {
+        latest = newSourceValue;
+
+        if (task != null)
+          {
+            task.cancel();
+          }
+
+        // The task is only known after it has been scheduled, so it gets its own reference through a holder
+        final var scheduled = new Scheduler.Task[1];
+        task = scheduled[0] = scheduler.schedule(() -> emit(scheduled), delay);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Propagates the latest value of the source, unless the task has been superseded by a later change, which might
+     * have happened while the task was starting, when it could no more be cancelled.
+     *
+     * @param   scheduled   the holder of the running task
+     **********************************************************************************************************************************************************/
+    private void emit (@Nonnull final Scheduler.Task[] scheduled)
+      {
+        final T oldValue;
+        final T newValue;
+
+        synchronized (this)
+          {
+            if (task != scheduled[0])
+              {
+                return;
+              }
+
+            task = null;
+            oldValue = value;
+            newValue = value = latest;
+          }
+
+        fireValueChanged(oldValue, newValue);
+      }
+  }
@@ -0,0 +1,116 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.function;
+
+import jakarta.annotation.Nonnull;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import it.tidalwave.ui.core.ChangingSource;
+
+/***************************************************************************************************************************************************************
+ *
+ * A function that follows its source, but only changes when the new value is not equivalent to the last propagated
+ * one. By default values are compared with {@link Objects#equals(Object, Object)}; a custom equivalence can be used,
+ * for instance to ignore case or leading and trailing blanks in a search field.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class DistinctUntilChangedFunction<T> extends UnaryBoundFunctionSupport<T, T>
+  {
+    @Nonnull
+    private final BiPredicate<? super T, ? super T> equivalence;
+
+    /***********************************************************************************************************************************************************
+     * Creates a function that suppresses changes to equal values.
+     *
+     * @param   source        the source
+     * @return                the function
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static <T> DistinctUntilChangedFunction<T> distinctUntilChanged (@Nonnull final ChangingSource<T> source)
+      {
+        return new DistinctUntilChangedFunction<>(source, Objects::equals);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Creates a function that suppresses changes to equivalent values.
+     *
+     * @param   source        the source
+     * @param   equivalence   the equivalence between values
+     * @return                the function
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static <T> DistinctUntilChangedFunction<T> distinctUntilChanged (
+            @Nonnull final ChangingSource<T> source,
+            @Nonnull final BiPredicate<? super T, ? super T> equivalence)
+      {
+        return new DistinctUntilChangedFunction<>(source, equivalence);
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    public DistinctUntilChangedFunction (@Nonnull final ChangingSource<T> source,
+                                         @Nonnull final BiPredicate<? super T, ? super T> equivalence)
+      {
+        super(source);
+        this.equivalence = equivalence;
+        value = source.get();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    protected void onSourceChange (final T oldSourceValue, final T newSourceValue)
+      {
+        final T oldValue;
+
+        synchronized (this)
+          {
+            if (equivalence.test(value, newSourceValue))
+              {
+                return;
+              }
+
+            oldValue = value;
+            value = newSourceValue;
+          }
+
+        fireValueChanged(oldValue, newSourceValue);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    protected T function (final T value)
+      {
+        return value;
+      }
+  }
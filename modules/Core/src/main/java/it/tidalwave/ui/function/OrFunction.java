@@ -47,6 +47,12 @@ public class OrFunction extends BooleanBoundFunctionSupport
         super(sources);
       }
 
+    @Override
+    protected final boolean function (final int trueCount, final int sourceCount)
+      {
+        return trueCount > 0;
+      }
+
     @Override
     protected final boolean function()
       {
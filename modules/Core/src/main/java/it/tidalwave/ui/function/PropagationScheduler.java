@@ -0,0 +1,167 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.function;
+
+import jakarta.annotation.Nonnull;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+
+/***************************************************************************************************************************************************************
+ *
+ * Schedules the propagation of changes through a graph of {@link BoundFunction}s, so that it is glitch-free. Every
+ * function has a rank, which is greater than the rank of all its sources (plain properties have rank zero). When a
+ * source fires, a <i>wave</i> is started in the current thread; functions notified during the wave don't recompute
+ * immediately, but are scheduled; when the source has notified all its listeners, scheduled functions are recomputed
+ * in rank order, each one at most once per wave. In this way a function is only recomputed after all its sources have
+ * settled, and never exposes an intermediate inconsistent value, even in diamond-shaped graphs.
+ *
+ * Waves are started by {@link it.tidalwave.ui.core.BoundProperty}, its primitive specialisations and
+ * {@link BoundFunctionSupport}; functions notified by other sources outside a wave are recomputed immediately.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@Slf4j
+public final class PropagationScheduler
+  {
+    /** The state of a wave; there's a single instance per thread, which is reused. */
+    private static final class Wave
+      {
+        private boolean active;
+
+        private final PriorityQueue<BoundFunctionSupport<?, ?>> queue =
+                new PriorityQueue<>(Comparator.comparingInt(function -> function.rank));
+
+        private final Set<BoundFunctionSupport<?, ?>> scheduled = Collections.newSetFromMap(new IdentityHashMap<>());
+      }
+
+    private static final ThreadLocal<Wave> WAVE = ThreadLocal.withInitial(Wave::new);
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private PropagationScheduler()
+      {
+      }
+
+    /***********************************************************************************************************************************************************
+     * Starts a wave, unless one is already in progress in the current thread. The returned value must be passed to
+     * {@link #end(boolean)}.
+     *
+     * @return    {@code true} if a new wave has been started
+     **********************************************************************************************************************************************************/
+    public static boolean begin()
+      {
+        final var wave = WAVE.get();
+
+        if (wave.active)
+          {
+            return false;
+          }
+
+        wave.active = true;
+        return true;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Ends a wave: if it was started by the matching call to {@link #begin()}, scheduled functions are recomputed. A
+     * failing function doesn't prevent the others from being recomputed: the first failure is rethrown once the wave
+     * has drained, with the subsequent ones attached as suppressed exceptions.
+     *
+     * @param   started   the value returned by {@link #begin()}
+     * @throws  RuntimeException    the first exception thrown by a recomputed function
+     **********************************************************************************************************************************************************/
+    public static void end (final boolean started)
+      {
+        if (started)
+          {
+            final var wave = WAVE.get();
+            RuntimeException failure = null;
+
+            try
+              {
+                for (var function = wave.queue.poll(); function != null; function = wave.queue.poll())
+                  {
+                    wave.scheduled.remove(function);
+
+                    try
+                      {
+                        function.propagate();
+                      }
+                    catch (RuntimeException e)
+                      {
+                        log.error("While propagating " + function, e);
+
+                        if (failure == null)
+                          {
+                            failure = e;
+                          }
+                        else
+                          {
+                            failure.addSuppressed(e);
+                          }
+                      }
+                  }
+              }
+            finally
+              {
+                wave.queue.clear();
+                wave.scheduled.clear();
+                wave.active = false;
+              }
+
+            if (failure != null)
+              {
+                throw failure;
+              }
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Schedules a function for recomputation in the current wave; if there's no wave in progress, the function is
+     * recomputed immediately.
+     *
+     * @param   function  the function
+     **********************************************************************************************************************************************************/
+    static void schedule (@Nonnull final BoundFunctionSupport<?, ?> function)
+      {
+        final var wave = WAVE.get();
+
+        if (!wave.active)
+          {
+            function.propagate();
+          }
+        else if (wave.scheduled.add(function))
+          {
+            wave.queue.add(function);
+          }
+      }
+  }
@@ -0,0 +1,79 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.function;
+
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+
+/***************************************************************************************************************************************************************
+ *
+ * A scheduler for the time-based functions, such as {@link DebounceFunction} and {@link ThrottleFunction}. The
+ * {@linkplain #system() system scheduler} uses real time; {@link VirtualScheduler} uses a clock that is manually
+ * advanced and is meant for deterministic tests.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public interface Scheduler
+  {
+    /***********************************************************************************************************************************************************
+     * A scheduled task.
+     **********************************************************************************************************************************************************/
+    public static interface Task
+      {
+        /*******************************************************************************************************************************************************
+         * Cancels this task, if it has not been executed yet.
+         ******************************************************************************************************************************************************/
+        public void cancel();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the current time in nanoseconds}. The value is only meaningful when compared to other values returned
+     * by the same scheduler.
+     **********************************************************************************************************************************************************/
+    public long nanoTime();
+
+    /***********************************************************************************************************************************************************
+     * Schedules a task to be executed after a delay.
+     *
+     * @param   task      the task
+     * @param   delay     the delay
+     * @return            the scheduled task, that can be cancelled
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public Task schedule (@Nonnull Runnable task, @Nonnull Duration delay);
+
+    /***********************************************************************************************************************************************************
+     * {@return the scheduler that uses real time}. Tasks are executed in a single, shared daemon thread, so they should
+     * be short.
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static Scheduler system()
+      {
+        return SystemScheduler.INSTANCE;
+      }
+  }
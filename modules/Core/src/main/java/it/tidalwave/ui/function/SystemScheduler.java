@@ -0,0 +1,95 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.function;
+
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/***************************************************************************************************************************************************************
+ *
+ * The {@link Scheduler} that uses real time.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@Slf4j
+final class SystemScheduler implements Scheduler
+  {
+    static final SystemScheduler INSTANCE = new SystemScheduler();
+
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable ->
+      {
+        final var thread = new Thread(runnable, "SteelBlue-Scheduler");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private SystemScheduler()
+      {
+        executor.setRemoveOnCancelPolicy(true);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public long nanoTime()
+      {
+        return System.nanoTime();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public Task schedule (@Nonnull final Runnable task, @Nonnull final Duration delay)
+      {
+        final var future = executor.schedule(() -> run(task), delay.toNanos(), TimeUnit.NANOSECONDS);
+        return () -> future.cancel(false);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Runs a task, logging errors, which would otherwise be swallowed by the executor.
+     **********************************************************************************************************************************************************/
+    private static void run (@Nonnull final Runnable task)
+      {
+        try
+          {
+            task.run();
+          }
+        catch (RuntimeException e)
+          {
+            log.error("While running scheduled task", e);
+          }
+      }
+  }
@@ -0,0 +1,168 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.function;
+
+import javax.annotation.CheckForNull;
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import it.tidalwave.ui.core.ChangingSource;
+
+/***************************************************************************************************************************************************************
+ *
+ * A function that follows its source, but changes at most once per period. The first change after a quiet period is
+ * propagated immediately; further changes during the period are collapsed, and the latest value is propagated when the
+ * period ends. Changes are notified in the thread of the source, for the first one, or of the {@link Scheduler}.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class ThrottleFunction<T> extends BoundFunctionSupport<T, T>
+  {
+    @Nonnull
+    private final Duration period;
+
+    @Nonnull
+    private final Scheduler scheduler;
+
+    private T value;
+
+    private T latest;
+
+    /** The time of the last propagated change; meaningless if {@code emitted} is {@code false}. */
+    private long lastEmission;
+
+    private boolean emitted;
+
+    @CheckForNull
+    private Scheduler.Task task;
+
+    /***********************************************************************************************************************************************************
+     * Creates a function that throttles a source with the system scheduler.
+     *
+     * @param   source      the source
+     * @param   period      the minimum time between two changes
+     * @return              the function
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static <T> ThrottleFunction<T> throttle (@Nonnull final ChangingSource<T> source, @Nonnull final Duration period)
+      {
+        return new ThrottleFunction<>(source, period, Scheduler.system());
+      }
+
+    /***********************************************************************************************************************************************************
+     * Creates a function that throttles a source.
+     *
+     * @param   source      the source
+     * @param   period      the minimum time between two changes
+     * @param   scheduler   the scheduler
+     * @return              the function
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static <T> ThrottleFunction<T> throttle (@Nonnull final ChangingSource<T> source,
+                                                    @Nonnull final Duration period,
+                                                    @Nonnull final Scheduler scheduler)
+      {
+        return new ThrottleFunction<>(source, period, scheduler);
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    public ThrottleFunction (@Nonnull final ChangingSource<T> source,
+                             @Nonnull final Duration period,
+                             @Nonnull final Scheduler scheduler)
+      {
+        this.period = period;
+        this.scheduler = scheduler;
+        value = latest = source.get();
+        source.addPropertyChangeListener(event -> onSourceChange((T)event.getNewValue()));
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public synchronized T get()
+      {
+        return value;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Propagates the change immediately if the period has elapsed, otherwise schedules it for the end of the period.
+     **********************************************************************************************************************************************************/
+    private void onSourceChange (final T newSourceValue)
+      {
+        final T oldValue;
+
+        synchronized (this)
+          {
+            latest = newSourceValue;
+
+            if (task != null)
+              {
+                return;
+              }
+
+            final var now = scheduler.nanoTime();
+            final var elapsed = now - lastEmission;
+
+            if (emitted && (elapsed < period.toNanos()))
+              {
+                task = scheduler.schedule(this::emit, period.minusNanos(elapsed));
+                return;
+              }
+
+            // the emission is recorded together with the decision, so a concurrent change sees it and is throttled
+            emitted = true;
+            lastEmission = now;
+            oldValue = value;
+            value = newSourceValue;
+          }
+
+        fireValueChanged(oldValue, newSourceValue);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Propagates the latest value of the source.
+     **********************************************************************************************************************************************************/
+    private void emit()
+      {
+        final T oldValue;
+        final T newValue;
+
+        synchronized (this)
+          {
+            task = null;
+            emitted = true;
+            lastEmission = scheduler.nanoTime();
+            oldValue = value;
+            newValue = value = latest;
+          }
+
+        fireValueChanged(oldValue, newValue);
+      }
+  }
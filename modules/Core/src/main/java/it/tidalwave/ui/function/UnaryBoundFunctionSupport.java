@@ -42,11 +42,19 @@ public abstract class UnaryBoundFunctionSupport<DOMAIN_TYPE, CODOMAIN_TYPE>
 
     protected CODOMAIN_TYPE value;
 
+    /** Whether a change of the source is waiting to be propagated. */
+    private boolean pending;
+
+    private DOMAIN_TYPE pendingOldSourceValue;
+
+    private DOMAIN_TYPE pendingNewSourceValue;
+
     protected UnaryBoundFunctionSupport (@Nonnull final ChangingSource<DOMAIN_TYPE> source)
       {
         this.source = source;
+        updateRank(source);
         source.addPropertyChangeListener(event ->
-                onSourceChange((DOMAIN_TYPE)event.getOldValue(), (DOMAIN_TYPE)event.getNewValue()));
+                sourceChanged((DOMAIN_TYPE)event.getOldValue(), (DOMAIN_TYPE)event.getNewValue()));
       }
 
     protected void onSourceChange (@Nonnull final DOMAIN_TYPE oldSourceValue, @Nonnull final DOMAIN_TYPE newSourceValue)
@@ -56,6 +64,52 @@ public abstract class UnaryBoundFunctionSupport<DOMAIN_TYPE, CODOMAIN_TYPE>
         fireValueChanged(oldValue, value);
       }
 
+    /***********************************************************************************************************************************************************
+     * Records a change of the source and schedules its propagation. If the source changes more than once in the same
+     * wave, {@link #onSourceChange(Object, Object)} is called only once with the first old and the last new value.
+     **********************************************************************************************************************************************************/
+    private void sourceChanged (final DOMAIN_TYPE oldSourceValue, final DOMAIN_TYPE newSourceValue)
+      {
+        synchronized (this)
+          {
+            if (!pending)
+              {
+                pending = true;
+                pendingOldSourceValue = oldSourceValue;
+              }
+
+            pendingNewSourceValue = newSourceValue;
+          }
+
+        PropagationScheduler.schedule(this);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    void propagate()
+      {
+        final DOMAIN_TYPE oldSourceValue;
+        final DOMAIN_TYPE newSourceValue;
+
+        synchronized (this)
+          {
+            if (!pending)
+              {
+                return;
+              }
+
+            pending = false;
+            oldSourceValue = pendingOldSourceValue;
+            newSourceValue = pendingNewSourceValue;
+            pendingOldSourceValue = null;
+            pendingNewSourceValue = null;
+          }
+
+        onSourceChange(oldSourceValue, newSourceValue);
+      }
+
     @Nonnull
     protected abstract CODOMAIN_TYPE function (final DOMAIN_TYPE value);
 
@@ -0,0 +1,152 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.function;
+
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/***************************************************************************************************************************************************************
+ *
+ * A {@link Scheduler} with a virtual clock, which only moves forward when {@link #advanceBy(Duration)} is called.
+ * Tasks are executed in the thread that advances the clock, in order of their scheduled time; tasks scheduled at the
+ * same time are executed in the order in which they were scheduled. It is meant for deterministic tests of
+ * time-based functions:
+ *
+ * <pre>{@code
+ * final var scheduler = new VirtualScheduler();
+ * final var debounced = DebounceFunction.debounce(property, Duration.ofMillis(300), scheduler);
+ * property.set("a");
+ * scheduler.advanceBy(Duration.ofMillis(300));
+ * }</pre>
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public final class VirtualScheduler implements Scheduler
+  {
+    /** A scheduled task. */
+    private static final class Entry implements Task
+      {
+        private final long time;
+
+        private final long sequence;
+
+        @Nonnull
+        private final Runnable task;
+
+        private volatile boolean cancelled;
+
+        private Entry (final long time, final long sequence, @Nonnull final Runnable task)
+          {
+            this.time = time;
+            this.sequence = sequence;
+            this.task = task;
+          }
+
+        @Override
+        public void cancel()
+          {
+            cancelled = true;
+          }
+      }
+
+    private final PriorityQueue<Entry> queue =
+            new PriorityQueue<>(Comparator.<Entry>comparingLong(e -> e.time).thenComparingLong(e -> e.sequence));
+
+    private long now;
+
+    private long sequence;
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public synchronized long nanoTime()
+      {
+        return now;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public synchronized Task schedule (@Nonnull final Runnable task, @Nonnull final Duration delay)
+      {
+        final var entry = new Entry(now + Math.max(0, delay.toNanos()), sequence++, task);
+        queue.add(entry);
+        return entry;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Advances the clock, executing all the tasks that are due in the meantime, including the ones that they schedule.
+     *
+     * @param   duration  the amount of time to advance
+     **********************************************************************************************************************************************************/
+    public void advanceBy (@Nonnull final Duration duration)
+      {
+        final long target;
+
+        synchronized (this)
+          {
+            target = now + duration.toNanos();
+          }
+
+        for (;;)
+          {
+            final Entry entry;
+
+            synchronized (this)
+              {
+                entry = queue.peek();
+
+                if ((entry == null) || (entry.time > target))
+                  {
+                    now = target;
+                    return;
+                  }
+
+                queue.poll();
+                now = entry.time;
+              }
+
+            if (!entry.cancelled)
+              {
+                entry.task.run();
+              }
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the number of tasks that are scheduled and not cancelled}.
+     **********************************************************************************************************************************************************/
+    public synchronized int getPendingTaskCount()
+      {
+        return (int)queue.stream().filter(e -> !e.cancelled).count();
+      }
+  }
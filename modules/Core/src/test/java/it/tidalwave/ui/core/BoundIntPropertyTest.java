@@ -0,0 +1,141 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core;
+
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.Test;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class BoundIntPropertyTest
+  {
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_notify_primitive_listeners_only_on_changes()
+      {
+        // given
+        final var underTest = new BoundIntProperty(1);
+        final List<String> notifications = new ArrayList<>();
+        underTest.addListener((oldValue, newValue) -> notifications.add(oldValue + "->" + newValue));
+        // when
+        underTest.setInt(2);
+        underTest.setInt(2);
+        underTest.set(3);
+        // then
+        assertThat(notifications, is(List.of("1->2", "2->3")));
+        assertThat(underTest.getInt(), is(3));
+        assertThat(underTest.get(), is(3));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_notify_PropertyChangeListeners()
+      {
+        // given
+        final var underTest = new BoundIntProperty(1);
+        final List<PropertyChangeEvent> events = new ArrayList<>();
+        underTest.addPropertyChangeListener(events::add);
+        // when
+        underTest.setInt(2);
+        // then
+        assertThat(events.size(), is(1));
+        assertThat(events.get(0).getPropertyName(), is(BoundProperty.PROP_VALUE));
+        assertThat(events.get(0).getOldValue(), is(1));
+        assertThat(events.get(0).getNewValue(), is(2));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_not_notify_removed_listeners()
+      {
+        // given
+        final var underTest = new BoundIntProperty();
+        final List<Integer> values = new ArrayList<>();
+        final BoundIntProperty.Listener listener = (oldValue, newValue) -> values.add(newValue);
+        underTest.addListener(listener);
+        underTest.setInt(1);
+        // when
+        underTest.removeListener(listener);
+        underTest.setInt(2);
+        // then
+        assertThat(values, is(List.of(1)));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_be_bound_to_another_property()
+      {
+        // given
+        final var source = new BoundIntProperty(5);
+        final var underTest = new BoundIntProperty();
+        // when
+        underTest.bind(source);
+        source.setInt(7);
+        // then
+        assertThat(underTest.getInt(), is(7));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test(expectedExceptions = NullPointerException.class, expectedExceptionsMessageRegExp = "BoundIntProperty can.t hold null.*")
+    public void must_reject_null()
+      {
+        new BoundIntProperty().set(null);
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void double_property_must_treat_NaN_as_unchanged()
+      {
+        // given
+        final var underTest = new BoundDoubleProperty(Double.NaN);
+        final List<Double> values = new ArrayList<>();
+        underTest.addListener((oldValue, newValue) -> values.add(newValue));
+        // when
+        underTest.setDouble(Double.NaN);
+        underTest.setDouble(1.5);
+        // then
+        assertThat(values, is(List.of(1.5)));
+      }
+  }
@@ -0,0 +1,148 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core;
+
+import java.beans.PropertyChangeListener;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.Test;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class ManagedPropertyChangeListenerTest
+  {
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void weak_listener_must_receive_events_while_referenced()
+      {
+        // given
+        final var underTest = new BoundProperty<>("a");
+        final List<Object> values = new ArrayList<>();
+        final PropertyChangeListener listener = event -> values.add(event.getNewValue());
+        final var registration = underTest.addWeakPropertyChangeListener(listener);
+        // when
+        underTest.set("b");
+        underTest.set("c");
+        // then
+        assertThat(values, is(List.of("b", "c")));
+        assertThat(registration.isRemoved(), is(false));
+        assertThat(underTest.getPropertyChangeListeners().length, is(1));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void weak_listener_must_be_removed_after_garbage_collection()
+            throws InterruptedException
+      {
+        // given
+        final var underTest = new BoundProperty<>("a");
+        final List<Object> values = new ArrayList<>();
+        // must capture something, otherwise the lambda is a singleton that is never collected
+        PropertyChangeListener listener = event -> values.add(event.getNewValue());
+        final var reference = new WeakReference<>(listener);
+        final var registration = underTest.addWeakPropertyChangeListener(listener);
+        // when
+        listener = null;
+
+        for (var i = 0; (i < 100) && (reference.get() != null); i++)
+          {
+            System.gc();
+            Thread.sleep(10);
+          }
+
+        underTest.set("b");
+        // then
+        assertThat(values.isEmpty(), is(true));
+        assertThat(reference.get(), is(nullValue()));
+        assertThat(registration.isRemoved(), is(true));
+        assertThat(underTest.getPropertyChangeListeners().length, is(0));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void expiring_listener_must_be_removed_after_its_time_to_live()
+      {
+        // given
+        final var underTest = new BoundProperty<>("a");
+        final List<Object> values = new ArrayList<>();
+        final var registration = underTest.addPropertyChangeListener(event -> values.add(event.getNewValue()), Duration.ZERO);
+        // when
+        underTest.set("b");
+        // then
+        assertThat(values.isEmpty(), is(true));
+        assertThat(registration.isRemoved(), is(true));
+        assertThat(underTest.getPropertyChangeListeners().length, is(0));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void explicitly_removed_listener_must_not_receive_events()
+      {
+        // given
+        final var underTest = new BoundProperty<>("a");
+        final List<Object> values = new ArrayList<>();
+        final var registration = underTest.addPropertyChangeListener(event -> values.add(event.getNewValue()),
+                                                                     Duration.ofHours(1));
+        // when
+        underTest.set("b");
+        registration.remove();
+        underTest.set("c");
+        // then
+        assertThat(values, is(List.of("b")));
+        assertThat(underTest.getPropertyChangeListeners().length, is(0));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void bindWeakly_must_keep_the_target_in_sync()
+      {
+        // given
+        final var source = new BoundProperty<>("a");
+        final var underTest = new BoundProperty<>("x");
+        // when
+        underTest.bindWeakly(source);
+        source.set("b");
+        // then
+        assertThat(underTest.get(), is("b"));
+      }
+  }
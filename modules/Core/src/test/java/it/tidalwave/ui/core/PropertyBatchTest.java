@@ -0,0 +1,152 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.Test;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class PropertyBatchTest
+  {
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_collapse_changes_to_a_single_notification_per_property()
+      {
+        // given
+        final var p1 = new BoundProperty<>("a");
+        final var p2 = new BoundIntProperty(1);
+        final List<String> notifications = new ArrayList<>();
+        p1.addPropertyChangeListener(e -> notifications.add("p1:" + e.getOldValue() + "->" + e.getNewValue()));
+        p2.addListener((oldValue, newValue) -> notifications.add("p2:" + oldValue + "->" + newValue));
+        // when
+        BoundProperty.batch(() ->
+          {
+            p1.set("b");
+            p2.setInt(2);
+            p1.set("c");
+            p2.setInt(3);
+            assertThat(notifications.isEmpty(), is(true));
+          });
+        // then
+        assertThat(notifications, is(List.of("p1:a->c", "p2:1->3")));
+        assertThat(p1.get(), is("c"));
+        assertThat(PropertyBatch.isActive(), is(false));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_not_notify_properties_eventually_unchanged()
+      {
+        // given
+        final var underTest = new BoundProperty<>("a");
+        final List<Object> values = new ArrayList<>();
+        underTest.addPropertyChangeListener(e -> values.add(e.getNewValue()));
+        // when
+        BoundProperty.batch(() ->
+          {
+            underTest.set("b");
+            underTest.set("a");
+          });
+        // then
+        assertThat(values.isEmpty(), is(true));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_notify_at_the_end_of_the_outermost_batch()
+      {
+        // given
+        final var underTest = new BoundProperty<>("a");
+        final List<Object> values = new ArrayList<>();
+        underTest.addPropertyChangeListener(e -> values.add(e.getNewValue()));
+        // when
+        BoundProperty.batch(() ->
+          {
+            BoundProperty.batch(() -> underTest.set("b"));
+            assertThat(values.isEmpty(), is(true));
+            underTest.set("c");
+          });
+        // then
+        assertThat(values, is(List.of("c")));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_run_completion_tasks_after_notifications()
+      {
+        // given
+        final var underTest = new BoundProperty<>("a");
+        final List<String> log = new ArrayList<>();
+        underTest.addPropertyChangeListener(e ->
+          {
+            log.add("notified " + e.getNewValue());
+            final List<String> attachment = PropertyBatch.attachment(this, () ->
+              {
+                final List<String> list = new ArrayList<>();
+                PropertyBatch.onCompletion(() -> log.add("completed " + list));
+                return list;
+              });
+            attachment.add((String)e.getNewValue());
+          });
+        // when
+        BoundProperty.batch(() -> underTest.set("b"));
+        // then
+        assertThat(log, is(List.of("notified b", "completed [b]")));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void changes_made_by_listeners_must_be_notified_immediately()
+      {
+        // given
+        final var p1 = new BoundProperty<>("a");
+        final var p2 = new BoundProperty<>("x");
+        final List<Object> values = new ArrayList<>();
+        p1.addPropertyChangeListener(e -> p2.set("y"));
+        p2.addPropertyChangeListener(e -> values.add(e.getNewValue()));
+        // when
+        BoundProperty.batch(() -> p1.set("b"));
+        // then
+        assertThat(values, is(List.of("y")));
+      }
+  }
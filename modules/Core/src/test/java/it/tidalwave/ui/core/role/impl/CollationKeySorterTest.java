@@ -0,0 +1,133 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core.role.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import it.tidalwave.util.As;
+import it.tidalwave.ui.core.role.Displayable;
+import org.testng.annotations.Test;
+import lombok.extern.slf4j.Slf4j;
+import static it.tidalwave.util.mock.MockAsFactory.mockWithAs;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@Slf4j
+public class CollationKeySorterTest
+  {
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_sort_displayables_like_the_comparator()
+      {
+        // given
+        final var displayables = createDisplayables(1000);
+        final var expected = new ArrayList<>(displayables);
+        expected.sort(Displayable.comparing());
+        // when
+        final var sequential = CollationKeySorter.sort(displayables, Displayable::getDisplayName, false);
+        final var parallel = CollationKeySorter.sort(displayables, Displayable::getDisplayName, true);
+        // then
+        assertThat(sequential, is(expected));
+        assertThat(parallel, is(expected));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_be_stable()
+      {
+        // given
+        final var a1 = Displayable.of("a", "a1");
+        final var b = Displayable.of("b", "b");
+        final var a2 = Displayable.of("a", "a2");
+        // when
+        final var actualResult = Displayable.sorted(List.of(b, a1, a2));
+        // then
+        assertThat(actualResult, is(List.of(a1, a2, b)));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_sort_as_by_displayable_role()
+      {
+        // given
+        final var c = mockWithAs(As.class, List.of(Displayable.of("c")));
+        final var a = mockWithAs(As.class, List.of(Displayable.of("a")));
+        final var b = mockWithAs(As.class, List.of(Displayable.of("b")));
+        // when
+        final var actualResult = Displayable.asSorted(List.of(c, a, b));
+        // then
+        assertThat(actualResult, is(List.of(a, b, c)));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test(groups = "no-ci")
+    public void benchmark()
+      {
+        final var displayables = createDisplayables(200_000);
+
+        for (var i = 0; i < 5; i++)
+          {
+            final var copy = new ArrayList<>(displayables);
+            var time = System.nanoTime();
+            copy.sort(Displayable.comparing());
+            final var comparatorTime = System.nanoTime() - time;
+            time = System.nanoTime();
+            CollationKeySorter.sort(displayables, Displayable::getDisplayName, false);
+            final var sequentialTime = System.nanoTime() - time;
+            time = System.nanoTime();
+            CollationKeySorter.sort(displayables, Displayable::getDisplayName, true);
+            final var parallelTime = System.nanoTime() - time;
+            log.info(">>>> comparator: {} msec, collation keys: {} msec, parallel collation keys: {} msec",
+                     comparatorTime / 1_000_000, sequentialTime / 1_000_000, parallelTime / 1_000_000);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private static List<Displayable> createDisplayables (final int count)
+      {
+        final var random = new Random(4);
+        return random.ints(count, 0, Integer.MAX_VALUE)
+                     .mapToObj(i -> Displayable.of((i % 2 == 0 ? "Ä" : "a") + Integer.toString(i, 36)))
+                     .collect(Collectors.toList());
+      }
+  }
@@ -0,0 +1,180 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core.role.impl;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import it.tidalwave.util.As;
+import it.tidalwave.util.AsException;
+import it.tidalwave.util.mock.MockAsFactory;
+import it.tidalwave.role.spi.SystemRoleFactory;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import static it.tidalwave.util.Parameters.r;
+import static org.mockito.Mockito.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class CompactPresentationModelTest
+  {
+    public static interface Role1
+      {
+      }
+
+    public static interface Role2
+      {
+      }
+
+    private Role1 localRole1;
+    private Role2 localRole2;
+    private Role2 role2InOwner;
+    private As ownerAsWithRole2;
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @BeforeMethod
+    public void setup()
+      {
+        SystemRoleFactory.reset();
+        localRole1 = mock(Role1.class);
+        localRole2 = mock(Role2.class);
+        role2InOwner = mock(Role2.class);
+        ownerAsWithRole2 = MockAsFactory.mockWithAs(As.class, r(role2InOwner));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_find_local_roles()
+      {
+        // given
+        final var underTest = new CompactPresentationModel(new Object(), r(localRole1, localRole2));
+        // when
+        final var role1 = underTest.as(Role1.class);
+        final var role2 = underTest.as(Role2.class);
+        // then
+        assertThat(role1, is(sameInstance(localRole1)));
+        assertThat(role2, is(sameInstance(localRole2)));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test(expectedExceptions = AsException.class)
+    public void must_not_find_inexistent_role()
+      {
+        // given
+        final var underTest = new CompactPresentationModel(new Object(), r(localRole1));
+        // when
+        underTest.as(Role2.class);
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_find_roles_in_owner()
+      {
+        // given
+        final var underTest = new CompactPresentationModel(ownerAsWithRole2, r());
+        // when
+        final var role2 = underTest.as(Role2.class);
+        // then
+        assertThat(role2, is(sameInstance(role2InOwner)));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_give_priority_to_local_roles()
+      {
+        // given
+        final var underTest = new CompactPresentationModel(ownerAsWithRole2, r(localRole2));
+        // when
+        final var role2 = underTest.as(Role2.class);
+        // then
+        assertThat(role2, is(sameInstance(localRole2)));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_have_no_listeners_before_registration()
+      {
+        // given
+        final var underTest = new CompactPresentationModel(new Object(), r(localRole1));
+        // when
+        underTest.firePropertyChange("foo", 1, 2);
+        underTest.removePropertyChangeListener(mock(PropertyChangeListener.class));
+        // then
+        assertThat(underTest.getPropertyChangeListeners().length, is(0));
+        assertThat(underTest.hasListeners("foo"), is(false));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_notify_registered_listeners()
+      {
+        // given
+        final var underTest = new CompactPresentationModel(new Object(), r(localRole1));
+        final var listener = mock(PropertyChangeListener.class);
+        underTest.addPropertyChangeListener(listener);
+        // when
+        underTest.firePropertyChange("foo", 1, 2);
+        // then
+        verify(listener).propertyChange(any(PropertyChangeEvent.class));
+        assertThat(underTest.hasListeners("foo"), is(true));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_remove_listeners_on_dispose()
+      {
+        // given
+        final var underTest = new CompactPresentationModel(new Object(), r(localRole1));
+        final var listener = mock(PropertyChangeListener.class);
+        underTest.addPropertyChangeListener(listener);
+        // when
+        underTest.dispose();
+        underTest.firePropertyChange("foo", 1, 2);
+        // then
+        verifyNoInteractions(listener);
+        assertThat(underTest.getPropertyChangeListeners().length, is(0));
+      }
+  }
@@ -0,0 +1,98 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core.role.impl;
+
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.testng.annotations.Test;
+import static it.tidalwave.ui.core.role.MutableDisplayable.PROP_DISPLAY_NAMES;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class DefaultMutableDisplayableTest
+  {
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_manage_localized_display_names()
+      {
+        // given
+        final var underTest = new DefaultMutableDisplayable("hello");
+        // when
+        underTest.setDisplayName("ciao", Locale.ITALIAN);
+        underTest.setDisplayNames(Map.of(Locale.FRENCH, "salut", Locale.GERMAN, "hallo"));
+        // then
+        assertThat(underTest.getDisplayName(), is("hello"));
+        assertThat(underTest.getDisplayName(Locale.ITALIAN), is("ciao"));
+        assertThat(underTest.getDisplayNames(),
+                   is(Map.of(Locale.ENGLISH, "hello", Locale.ITALIAN, "ciao", Locale.FRENCH, "salut", Locale.GERMAN, "hallo")));
+        assertThat(List.copyOf(underTest.getLocales()), is(List.of(Locale.GERMAN, Locale.ENGLISH, Locale.FRENCH, Locale.ITALIAN)));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_fire_events_with_immutable_snapshots()
+      {
+        // given
+        final var underTest = new DefaultMutableDisplayable("hello");
+        final List<PropertyChangeEvent> events = new ArrayList<>();
+        underTest.addPropertyChangeListener(events::add);
+        final var before = underTest.getDisplayNames();
+        // when
+        underTest.setDisplayName("ciao", Locale.ITALIAN);
+        underTest.setDisplayName("ciao", Locale.ITALIAN);
+        // then
+        assertThat(events.size(), is(1));
+        final var event = events.get(0);
+        assertThat(event.getPropertyName(), is(PROP_DISPLAY_NAMES));
+        assertThat(event.getOldValue(), is(sameInstance(before)));
+        assertThat(event.getNewValue(), is(sameInstance(underTest.getDisplayNames())));
+        assertThat(before, is(Map.of(Locale.ENGLISH, "hello")));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void display_names_must_be_unmodifiable()
+      {
+        // given
+        final var underTest = new DefaultMutableDisplayable("hello");
+        // when
+        underTest.getDisplayNames().put(Locale.ITALIAN, "ciao");
+      }
+  }
@@ -25,10 +25,21 @@
  */
 package it.tidalwave.ui.core.role.impl;
 
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import it.tidalwave.util.As;
 import it.tidalwave.util.AsException;
+import it.tidalwave.util.ContextManager;
+import it.tidalwave.util.Task;
 import it.tidalwave.util.mock.MockAsFactory;
+import it.tidalwave.role.impl.DefaultContextManagerProvider;
 import it.tidalwave.role.spi.SystemRoleFactory;
+import it.tidalwave.ui.core.role.Displayable;
+import it.tidalwave.ui.core.role.Styleable;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import static it.tidalwave.util.Parameters.r;
@@ -70,6 +81,7 @@ public class DefaultPresentationModelTest
       {
         // Not called by tests, we only need it's there
         SystemRoleFactory.reset();
+        ContextManager.set(new DefaultContextManagerProvider());
 
         localRole1 = mock(Role1.class);
         localRole2 = mock(Role2.class);
@@ -164,4 +176,279 @@ public class DefaultPresentationModelTest
         // then
         assertThat(role3.isPresent(), is(false));
       }
-  }
\ No newline at end of file
+  
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_cache_role_lookups_including_negative_results()
+      {
+        // given
+        final var owner = new CountingOwner(role2InOwner);
+        final var underTest = new DefaultPresentationModel(owner, r(localRole1));
+        final var role2a = underTest.as(Role2.class);
+        final var role3a = underTest.maybeAs(Role3.class);
+        final var lookupCount = owner.lookupCount.get();
+        // when
+        final var role2b = underTest.as(Role2.class);
+        final var role3b = underTest.maybeAs(Role3.class);
+        // then
+        assertThat(role2a, is(sameInstance(role2InOwner)));
+        assertThat(role2b, is(sameInstance(role2InOwner)));
+        assertThat(role3a.isPresent(), is(false));
+        assertThat(role3b.isPresent(), is(false));
+        assertThat(owner.lookupCount.get(), is(lookupCount));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_not_memoise_role_lookups_depending_on_a_context()
+      {
+        // given
+        final var context = new Object();
+        final var owner = new ContextDependentOwner(context, role2InOwner);
+        final var underTest = new DefaultPresentationModel(owner, r(localRole1));
+        // when
+        final var role2a = underTest.maybeAs(Role2.class);
+        final var role2b = ContextManager.getInstance().runWithContext(context, new Task<Optional<Role2>, RuntimeException>()
+          {
+            @Override @Nonnull
+            public Optional<Role2> run()
+              {
+                return underTest.maybeAs(Role2.class);
+              }
+          });
+        final var role2c = underTest.maybeAs(Role2.class);
+        // then
+        assertThat(role2a.isPresent(), is(false));
+        assertThat(role2b.orElseThrow(), is(sameInstance(role2InOwner)));
+        assertThat(role2c.isPresent(), is(false));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_perform_a_fresh_lookup_after_invalidation()
+      {
+        // given
+        final var owner = new CountingOwner(role2InOwner);
+        final var underTest = new DefaultPresentationModel(owner, r(localRole1));
+        underTest.as(Role2.class);
+        final var lookupCount = owner.lookupCount.get();
+        // when
+        underTest.invalidateRoleCache();
+        final var role2 = underTest.as(Role2.class);
+        // then
+        assertThat(role2, is(sameInstance(role2InOwner)));
+        assertThat(owner.lookupCount.get() > lookupCount, is(true));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_not_memoise_a_lookup_overlapping_an_invalidation()
+      {
+        // given
+        final var owner = new CountingOwner(role2InOwner);
+        final var underTest = new DefaultPresentationModel(owner, r(localRole1));
+        owner.onLookup = underTest::invalidateRoleCache;
+        underTest.as(Role2.class);
+        owner.onLookup = () -> {};
+        final var lookupCount = owner.lookupCount.get();
+        // when
+        final var role2 = underTest.as(Role2.class);
+        // then
+        assertThat(role2, is(sameInstance(role2InOwner)));
+        assertThat(owner.lookupCount.get() > lookupCount, is(true));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_perform_a_fresh_lookup_after_dispose()
+      {
+        // given
+        final var owner = new CountingOwner(role2InOwner);
+        final var underTest = new DefaultPresentationModel(owner, r(localRole1));
+        underTest.as(Role2.class);
+        final var lookupCount = owner.lookupCount.get();
+        // when
+        underTest.dispose();
+        final var role2 = underTest.as(Role2.class);
+        // then
+        assertThat(role2, is(sameInstance(role2InOwner)));
+        assertThat(owner.lookupCount.get() > lookupCount, is(true));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_iterate_roles_in_the_same_order_as_asMany()
+      {
+        // given
+        final var underTest = new DefaultPresentationModel(ownerAsWithRole2, r(localRole2));
+        final List<Role2> roles = new ArrayList<>();
+        // when
+        underTest.forEachRole(Role2.class, roles::add);
+        // then
+        assertThat(roles, is(List.of(localRole2, role2InOwner)));
+        assertThat(roles, is(List.copyOf(underTest.asMany(Role2.class))));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void anyRole_must_stop_at_the_first_match()
+      {
+        // given
+        final var underTest = new DefaultPresentationModel(ownerAsWithRole2, r(localRole2));
+        final List<Role2> tested = new ArrayList<>();
+        // when
+        final var result = underTest.anyRole(Role2.class, role -> tested.add(role) && (role == localRole2));
+        // then
+        assertThat(result, is(true));
+        assertThat(tested, is(List.of(localRole2)));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_return_lightweight_local_roles_without_querying_the_owner()
+      {
+        // given
+        final var owner = new CountingOwner(new DefaultStyleable("style"));
+        final var displayable = new DefaultDisplayable("name");
+        final var underTest = new DefaultPresentationModel(owner, r(displayable, localRole1));
+        // when
+        final var actualDisplayable = underTest.maybeAsLightweight(Displayable.class);
+        final var actualRole1 = underTest.maybeAsLightweight(Role1.class);
+        final var actualStyleable = underTest.maybeAsLightweight(Styleable.class);
+        // then
+        assertThat(actualDisplayable.orElseThrow(), is(sameInstance(displayable)));
+        assertThat(actualRole1.isPresent(), is(false));
+        assertThat(actualStyleable.isPresent(), is(false));
+        assertThat(owner.lookupCount.get(), is(0));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_tell_local_and_memoised_roles_without_querying_the_owner()
+      {
+        // given
+        final var owner = new CountingOwner(role2InOwner);
+        final var underTest = new DefaultPresentationModel(owner, r(localRole1));
+        // when
+        final var hasRole1 = underTest.hasCheaplyKnownRole(Role1.class);
+        final var hasRole2BeforeLookup = underTest.hasCheaplyKnownRole(Role2.class);
+        final var lookupCount = owner.lookupCount.get();
+        underTest.as(Role2.class);
+        final var hasRole2AfterLookup = underTest.hasCheaplyKnownRole(Role2.class);
+        // then
+        assertThat(hasRole1, is(true));
+        assertThat(hasRole2BeforeLookup, is(false));
+        assertThat(hasRole2AfterLookup, is(true));
+        assertThat(lookupCount, is(0));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_return_lightweight_memoised_roles()
+      {
+        // given
+        final var styleable = new DefaultStyleable("style");
+        final var owner = new CountingOwner(styleable);
+        final var underTest = new DefaultPresentationModel(owner, r(localRole1));
+        underTest.as(Styleable.class);
+        final var lookupCount = owner.lookupCount.get();
+        // when
+        final var actual = underTest.maybeAsLightweight(Styleable.class);
+        // then
+        assertThat(actual.orElseThrow(), is(sameInstance(styleable)));
+        assertThat(owner.lookupCount.get(), is(lookupCount));
+      }
+
+    /***********************************************************************************************************************************************************
+     * An owner with a single role, that counts how many times it has been queried.
+     **********************************************************************************************************************************************************/
+    static class CountingOwner implements As
+      {
+        private final Object role;
+
+        final AtomicInteger lookupCount = new AtomicInteger();
+
+        /** Called at each lookup, to simulate something happening concurrently. */
+        Runnable onLookup = () -> {};
+
+        CountingOwner (@Nonnull final Object role)
+          {
+            this.role = role;
+          }
+
+        @Override @Nonnull
+        public <T> T as (@Nonnull final Class<? extends T> type)
+          {
+            return maybeAs(type).orElseThrow(() -> new AsException(type));
+          }
+
+        @Override @Nonnull
+        public <T> Optional<T> maybeAs (@Nonnull final Class<? extends T> type)
+          {
+            lookupCount.incrementAndGet();
+            onLookup.run();
+            return type.isInstance(role) ? Optional.of(type.cast(role)) : Optional.empty();
+          }
+
+        @Override @Nonnull
+        public <T> Collection<T> asMany (@Nonnull final Class<? extends T> type)
+          {
+            return maybeAs(type).map(List::<T>of).orElse(List.of());
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * An owner providing a role only when a given DCI context is active, as it happens with context-bound global roles.
+     **********************************************************************************************************************************************************/
+    static class ContextDependentOwner implements As
+      {
+        private final Object context;
+
+        private final Object role;
+
+        ContextDependentOwner (@Nonnull final Object context, @Nonnull final Object role)
+          {
+            this.context = context;
+            this.role = role;
+          }
+
+        @Override @Nonnull
+        public <T> T as (@Nonnull final Class<? extends T> type)
+          {
+            return maybeAs(type).orElseThrow(() -> new AsException(type));
+          }
+
+        @Override @Nonnull
+        public <T> Optional<T> maybeAs (@Nonnull final Class<? extends T> type)
+          {
+            final var active = ContextManager.getInstance().getContexts().contains(context);
+            return (active && type.isInstance(role)) ? Optional.of(type.cast(role)) : Optional.empty();
+          }
+
+        @Override @Nonnull
+        public <T> Collection<T> asMany (@Nonnull final Class<? extends T> type)
+          {
+            return maybeAs(type).map(List::<T>of).orElse(List.of());
+          }
+      }
+  }
@@ -0,0 +1,186 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core.role.impl;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import it.tidalwave.util.As;
+import it.tidalwave.role.spi.SystemRoleFactory;
+import it.tidalwave.ui.core.role.LazyRole;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import static it.tidalwave.util.Parameters.r;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@Slf4j
+public class IndexedAsTest
+  {
+    public static interface Role1
+      {
+      }
+
+    public static interface Role2
+      {
+      }
+
+    public static class Role1And2 implements Role1, Role2
+      {
+      }
+
+    public static class Role1Impl implements Role1
+      {
+      }
+
+    private final Object owner = new Object();
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @BeforeMethod
+    public void setup()
+      {
+        SystemRoleFactory.reset();
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_find_the_first_compatible_local_role()
+      {
+        // given
+        final var role1 = new Role1Impl();
+        final var role1And2 = new Role1And2();
+        final var underTest = new IndexedAs(owner, r(role1, role1And2));
+        // when
+        final var actualRole1 = underTest.as(Role1.class);
+        final var actualRole2 = underTest.as(Role2.class);
+        // then
+        assertThat(actualRole1, is(sameInstance(role1)));
+        assertThat(actualRole2, is(sameInstance(role1And2)));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_find_all_compatible_local_roles_in_order()
+      {
+        // given
+        final var role1 = new Role1Impl();
+        final var role1And2 = new Role1And2();
+        final var underTest = new IndexedAs(owner, r(role1, role1And2));
+        // when
+        final var actualRoles1 = underTest.asMany(Role1.class);
+        final var actualRoles2 = underTest.asMany(Role2.class);
+        // then
+        assertThat(actualRoles1, is(List.of(role1, role1And2)));
+        assertThat(actualRoles2, is(List.of(role1And2)));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_not_find_inexistent_role()
+      {
+        // given
+        final var underTest = new IndexedAs(owner, r(new Role1Impl()));
+        // when
+        final var role2 = underTest.maybeAs(Role2.class);
+        // then
+        assertThat(role2.isPresent(), is(false));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_resolve_lazy_roles_only_once_and_when_requested()
+      {
+        // given
+        final var role1And2 = new Role1And2();
+        final var counter = new AtomicInteger();
+        final var lazyRole = LazyRole.of(Role2.class, () ->
+          {
+            counter.incrementAndGet();
+            return role1And2;
+          });
+        final var underTest = new IndexedAs(owner, r(new Role1Impl(), lazyRole));
+        // when
+        underTest.as(Role1.class);
+        final var resolvedBeforeRequest = lazyRole.isResolved();
+        final var actualRole2a = underTest.as(Role2.class);
+        final var actualRole2b = underTest.as(Role2.class);
+        // then
+        assertThat(resolvedBeforeRequest, is(false));
+        assertThat(actualRole2a, is(sameInstance(role1And2)));
+        assertThat(actualRole2b, is(sameInstance(role1And2)));
+        assertThat(counter.get(), is(1));
+      }
+
+    /***********************************************************************************************************************************************************
+     * Not a real benchmark (JMH is not part of the build), but it gives an idea of the speedup.
+     **********************************************************************************************************************************************************/
+    @Test(groups = "no-ci")
+    public void benchmark_lookup()
+      {
+        final List<Object> roles = r(new Role1Impl(), new Role1And2());
+        final var asSupport = As.forObject(owner, roles);
+        final var indexedAs = new IndexedAs(owner, roles);
+
+        for (var warmup = 0; warmup < 3; warmup++)
+          {
+            final var asSupportTime = measure(asSupport);
+            final var indexedAsTime = measure(indexedAs);
+            log.info(">>>> As.forObject(): {} ms, IndexedAs: {} ms", asSupportTime / 1_000_000, indexedAsTime / 1_000_000);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private static long measure (final As as)
+      {
+        final var baseTime = System.nanoTime();
+        var found = 0;
+
+        for (var i = 0; i < 1_000_000; i++)
+          {
+            found += as.maybeAs(Role2.class).isPresent() ? 1 : 0;
+          }
+
+        assertThat(found, is(1_000_000));
+        return System.nanoTime() - baseTime;
+      }
+  }
@@ -0,0 +1,131 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core.role.spi;
+
+import jakarta.annotation.Nonnull;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import it.tidalwave.role.spi.SystemRoleFactory;
+import it.tidalwave.ui.core.role.Displayable;
+import it.tidalwave.ui.core.role.PresentationModel;
+import it.tidalwave.ui.core.role.PresentationModelFactory;
+import it.tidalwave.ui.core.role.impl.CompactPresentationModel;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import static it.tidalwave.util.Parameters.r;
+import static it.tidalwave.ui.core.role.Displayable._Displayable_;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class CompactPresentationModelFactoryTest
+  {
+    private static final int COUNT = 10_000;
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @BeforeMethod
+    public void setup()
+      {
+        SystemRoleFactory.reset();
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_create_CompactPresentationModels()
+      {
+        // given
+        final var underTest = new CompactPresentationModelFactory();
+        final var displayable = Displayable.of("foo");
+        // when
+        final var pm = underTest.createPresentationModel(new Object(), r(displayable));
+        // then
+        assertThat(pm, is(instanceOf(CompactPresentationModel.class)));
+        assertThat(pm.as(_Displayable_), is(sameInstance(displayable)));
+      }
+
+    /***********************************************************************************************************************************************************
+     * The footprint is estimated by the bytes allocated by the current thread for creating a row and looking up its
+     * {@link Displayable}, which is what a list or a table does; temporary objects are counted as well, so the estimate
+     * is conservative.
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_take_at_most_half_the_memory_of_DefaultPresentationModel()
+      {
+        // given
+        final var displayable = Displayable.of("foo");
+        allocatedBytesPerRow(new DefaultPresentationModelFactory(), displayable); // warm up
+        allocatedBytesPerRow(new CompactPresentationModelFactory(), displayable);
+        // when
+        final var defaultBytes = allocatedBytesPerRow(new DefaultPresentationModelFactory(), displayable);
+        final var compactBytes = allocatedBytesPerRow(new CompactPresentationModelFactory(), displayable);
+        // then
+        assertThat("default: " + defaultBytes + ", compact: " + compactBytes, compactBytes * 2 <= defaultBytes, is(true));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private static long allocatedBytesPerRow (@Nonnull final PresentationModelFactory factory, @Nonnull final Displayable displayable)
+      {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean))
+          {
+            throw new SkipException("Allocation metrics not available");
+          }
+
+        final var bean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        final var threadId = Thread.currentThread().getId();
+        final List<Object> owners = new ArrayList<>(COUNT);
+
+        for (var i = 0; i < COUNT; i++)
+          {
+            owners.add(new Object());
+          }
+
+        final List<PresentationModel> pms = new ArrayList<>(COUNT);
+        final var before = bean.getThreadAllocatedBytes(threadId);
+
+        for (final var owner : owners)
+          {
+            final var pm = factory.createPresentationModel(owner, r(displayable));
+            pm.as(_Displayable_);
+            pms.add(pm);
+          }
+
+        final var after = bean.getThreadAllocatedBytes(threadId);
+        assertThat(pms.size(), is(COUNT));
+        return (after - before) / COUNT;
+      }
+  }
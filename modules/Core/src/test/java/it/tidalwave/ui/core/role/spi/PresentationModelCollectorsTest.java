@@ -0,0 +1,148 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core.role.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import it.tidalwave.util.As;
+import it.tidalwave.util.AsException;
+import it.tidalwave.util.ContextManager;
+import it.tidalwave.util.Task;
+import it.tidalwave.role.impl.DefaultContextManagerProvider;
+import it.tidalwave.role.spi.SystemRoleFactory;
+import it.tidalwave.ui.core.role.Presentable;
+import it.tidalwave.ui.core.role.PresentationModel;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import static it.tidalwave.ui.core.role.Presentable._Presentable_;
+import static it.tidalwave.ui.core.role.PresentationModel._SimpleCompositeOfPresentationModel_;
+import static it.tidalwave.ui.core.role.spi.PresentationModelCollectors.*;
+import static org.mockito.Mockito.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class PresentationModelCollectorsTest
+  {
+    private final List<As> items = new ArrayList<>();
+
+    private final List<PresentationModel> expectedPms = new ArrayList<>();
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @BeforeMethod
+    public void setup()
+      {
+        SystemRoleFactory.reset();
+        ContextManager.set(new DefaultContextManagerProvider());
+        items.clear();
+        expectedPms.clear();
+
+        for (var i = 0; i < 1000; i++)
+          {
+            final var item = mock(As.class);
+            final var pm = mock(PresentationModel.class);
+            final Presentable presentable = roles -> pm;
+            when(item.as(_Presentable_)).thenReturn(presentable);
+            items.add(item);
+            expectedPms.add(pm);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_create_a_composite()
+      {
+        // when
+        final var pm = toCompositePresentationModel(items);
+        // then
+        assertThat(pm.as(_SimpleCompositeOfPresentationModel_).findChildren().results(), is(expectedPms));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_create_a_composite_in_parallel_preserving_order()
+      {
+        // given
+        final var pool = new ForkJoinPool(8);
+        // when
+        final var pm = toCompositePresentationModelInParallel(items, o -> new Object[0], pool);
+        // then
+        assertThat(pm.as(_SimpleCompositeOfPresentationModel_).findChildren().results(), is(expectedPms));
+        pool.shutdown();
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_create_a_composite_in_parallel_finding_roles_of_the_current_context()
+      {
+        // given
+        final var pool = new ForkJoinPool(8);
+        final var context = new Object();
+        final List<As> contextItems = new ArrayList<>();
+
+        for (final var item : items)
+          {
+            // the Presentable is only available in the context, as it happens with context-bound global roles
+            final var presentable = item.as(_Presentable_);
+            final var contextItem = mock(As.class);
+            when(contextItem.as(_Presentable_)).thenAnswer(invocation ->
+              {
+                if (!ContextManager.getInstance().getContexts().contains(context))
+                  {
+                    throw new AsException(_Presentable_);
+                  }
+
+                return presentable;
+              });
+            contextItems.add(contextItem);
+          }
+        // when
+        final var pm = ContextManager.getInstance().runWithContext(context, new Task<PresentationModel, RuntimeException>()
+          {
+            @Override
+            public PresentationModel run()
+              {
+                return toCompositePresentationModelInParallel(contextItems, o -> new Object[0], pool);
+              }
+          });
+        // then
+        assertThat(pm.as(_SimpleCompositeOfPresentationModel_).findChildren().results(), is(expectedPms));
+        pool.shutdown();
+      }
+  }
@@ -38,6 +38,7 @@ import it.tidalwave.role.Identifiable;
 import it.tidalwave.role.SimpleComposite;
 import it.tidalwave.role.spi.SystemRoleFactory;
 import it.tidalwave.ui.core.role.PresentationModel;
+import it.tidalwave.ui.core.role.impl.CompactPresentationModel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -180,6 +181,62 @@ public class SimpleCompositePresentableTest
         assertProperPresentationModel("", pm, a);
       }
 
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_page_children()
+      {
+        // given
+        final var children = new ArrayList<MockDatum>();
+
+        for (var i = 0; i < 10; i++)
+          {
+            children.add(new MockDatum("c" + i));
+          }
+
+        final var a = new MockDatum("a").withChildren(children);
+        final var underTest = new SimpleCompositePresentable(a, new DefaultPresentationModelFactory());
+        // when
+        final var pm = underTest.createPresentationModel(r(new MockRoleFactory()));
+        final var finder = pm.as(_SimpleCompositeOfPresentationModel_).findChildren();
+        final var page = finder.from(3).max(4).results();
+        // then
+        assertThat(finder.count(), is(10));
+        assertThat(finder.from(3).max(4).count(), is(4));
+        assertThat(finder.from(8).max(4).count(), is(2));
+        assertThat(page.size(), is(4));
+
+        for (var i = 0; i < page.size(); i++)
+          {
+            assertThat(page.get(i).as(MockRole2.class).getDatum(), is(sameInstance(children.get(i + 3))));
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_create_children_with_the_same_PresentationModelFactory()
+      {
+        // given
+        final var c1 = new MockDatum("c1");
+        final var b1 = new MockDatum("b1").withChildren(c1);
+        final var b2 = new MockDatum("b2");
+        final var a = new MockDatum("a").withChildren(b1, b2);
+        final var underTest = new SimpleCompositePresentable(a, new CompactPresentationModelFactory());
+        // when
+        final var pm = underTest.createPresentationModel(r());
+        final var children = pm.as(_SimpleCompositeOfPresentationModel_).findChildren().results();
+        final var grandChildren = children.get(0).as(_SimpleCompositeOfPresentationModel_).findChildren().results();
+        // then
+        assertThat(pm, is(instanceOf(CompactPresentationModel.class)));
+        assertThat(children.size(), is(2));
+        assertThat(grandChildren.size(), is(1));
+        children.forEach(child -> assertThat(child, is(instanceOf(CompactPresentationModel.class))));
+        assertThat(grandChildren.get(0), is(instanceOf(CompactPresentationModel.class)));
+      }
+
     /***********************************************************************************************************************************************************
      * 
      **********************************************************************************************************************************************************/
@@ -0,0 +1,184 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.core.spi;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@Slf4j
+public class ListenerRegistryTest
+  {
+    private final Object source = new Object();
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_notify_listeners_only_of_the_properties_they_are_interested_in()
+      {
+        // given
+        final var underTest = new ListenerRegistry(source);
+        final List<String> notifications = new ArrayList<>();
+        underTest.addPropertyChangeListener(e -> notifications.add("all:" + e.getPropertyName()));
+        underTest.addPropertyChangeListener("foo", e -> notifications.add("foo:" + e.getPropertyName()));
+        // when
+        underTest.firePropertyChange("foo", 1, 2);
+        underTest.firePropertyChange("bar", 1, 2);
+        // then
+        assertThat(notifications, is(List.of("all:foo", "foo:foo", "all:bar")));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_share_the_same_event_among_listeners()
+      {
+        // given
+        final var underTest = new ListenerRegistry(source);
+        final List<PropertyChangeEvent> events = new ArrayList<>();
+        underTest.addPropertyChangeListener(events::add);
+        underTest.addPropertyChangeListener(events::add);
+        // when
+        underTest.firePropertyChange("value", "a", "b");
+        // then
+        assertThat(events.size(), is(2));
+        assertThat(events.get(0), is(sameInstance(events.get(1))));
+        assertThat(events.get(0).getSource(), is(sameInstance(source)));
+        assertThat(events.get(0).getOldValue(), is("a"));
+        assertThat(events.get(0).getNewValue(), is("b"));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_notify_value_listeners_without_events()
+      {
+        // given
+        final var underTest = new ListenerRegistry(source);
+        final List<String> notifications = new ArrayList<>();
+        underTest.addValueListener((oldValue, newValue) -> notifications.add(oldValue + "->" + newValue));
+        // when
+        underTest.firePropertyChange("value", "a", "b");
+        underTest.firePropertyChange("value", "b", "b");
+        // then
+        assertThat(notifications, is(List.of("a->b")));
+        assertThat(underTest.hasListeners("value"), is(true));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_remove_listeners()
+      {
+        // given
+        final var underTest = new ListenerRegistry(source);
+        final List<String> notifications = new ArrayList<>();
+        final PropertyChangeListener listener = e -> notifications.add(e.getPropertyName());
+        underTest.addPropertyChangeListener(listener);
+        underTest.addPropertyChangeListener("foo", listener);
+        // when
+        for (final var l : underTest.getPropertyChangeListeners())
+          {
+            underTest.removePropertyChangeListener(l);
+          }
+
+        underTest.firePropertyChange("foo", 1, 2);
+        // then
+        assertThat(notifications.isEmpty(), is(true));
+        assertThat(underTest.hasListeners("foo"), is(false));
+        assertThat(underTest.getPropertyChangeListeners().length, is(0));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test(groups = "no-ci")
+    public void benchmark_fire()
+      {
+        final var pcs = new PropertyChangeSupport(source);
+        final var registry = new ListenerRegistry(source);
+
+        for (var warmup = 0; warmup < 3; warmup++)
+          {
+            final var pcsTime0 = measure((o, n) -> pcs.firePropertyChange("value", o, n));
+            final var registryTime0 = measure((o, n) -> registry.firePropertyChange("value", o, n));
+            log.info(">>>> no listeners - PropertyChangeSupport: {} ms, ListenerRegistry: {} ms",
+                     pcsTime0 / 1_000_000, registryTime0 / 1_000_000);
+          }
+
+        final var counter = new int[1];
+        pcs.addPropertyChangeListener(e -> counter[0]++);
+        registry.addPropertyChangeListener(e -> counter[0]++);
+
+        for (var warmup = 0; warmup < 3; warmup++)
+          {
+            final var pcsTime1 = measure((o, n) -> pcs.firePropertyChange("value", o, n));
+            final var registryTime1 = measure((o, n) -> registry.firePropertyChange("value", o, n));
+            log.info(">>>> one listener - PropertyChangeSupport: {} ms, ListenerRegistry: {} ms",
+                     pcsTime1 / 1_000_000, registryTime1 / 1_000_000);
+          }
+
+        final var registry2 = new ListenerRegistry(source);
+        registry2.addValueListener((o, n) -> counter[0]++);
+
+        for (var warmup = 0; warmup < 3; warmup++)
+          {
+            final var registryTime2 = measure((o, n) -> registry2.firePropertyChange("value", o, n));
+            log.info(">>>> one value listener - ListenerRegistry: {} ms", registryTime2 / 1_000_000);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private static long measure (final ListenerRegistry.ValueListener fire)
+      {
+        final var values = new Object[] { "a", "b" };
+        final var baseTime = System.nanoTime();
+
+        for (var i = 0; i < 10_000_000; i++)
+          {
+            fire.valueChanged(values[i & 1], values[(i + 1) & 1]);
+          }
+
+        return System.nanoTime() - baseTime;
+      }
+  }
@@ -0,0 +1,153 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.function;
+
+import java.util.ArrayList;
+import java.util.List;
+import it.tidalwave.ui.core.BoundBooleanProperty;
+import it.tidalwave.ui.core.BoundProperty;
+import org.testng.annotations.Test;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class BooleanBoundFunctionSupportTest
+  {
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void and_must_fire_only_on_transitions()
+      {
+        // given
+        final var s1 = new BoundBooleanProperty(true);
+        final var s2 = new BoundProperty<>(false);
+        final var underTest = AndFunction.and(s1, s2);
+        final List<Object> values = new ArrayList<>();
+        underTest.addPropertyChangeListener(e -> values.add(e.getNewValue()));
+        // when
+        s1.setBoolean(false);
+        s2.set(true);
+        s1.setBoolean(true);
+        s2.set(null);
+        // then
+        assertThat(values, is(List.of(true, false)));
+        assertThat(underTest.get(), is(false));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void or_must_fire_only_on_transitions()
+      {
+        // given
+        final var s1 = new BoundBooleanProperty(false);
+        final var s2 = new BoundBooleanProperty(false);
+        final var underTest = OrFunction.or(s1, s2);
+        final List<Object> values = new ArrayList<>();
+        underTest.addPropertyChangeListener(e -> values.add(e.getNewValue()));
+        // when
+        s1.setBoolean(true);
+        s2.setBoolean(true);
+        s1.setBoolean(false);
+        s2.setBoolean(false);
+        // then
+        assertThat(values, is(List.of(true, false)));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_have_the_correct_initial_value()
+      {
+        // given
+        final var s1 = new BoundBooleanProperty(true);
+        final var s2 = new BoundBooleanProperty(true);
+        // when
+        final var underTest = AndFunction.and(s1, s2);
+        // then
+        assertThat(underTest.get(), is(true));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_support_adding_and_removing_sources()
+      {
+        // given
+        final var s1 = new BoundBooleanProperty(true);
+        final var s2 = new BoundBooleanProperty(false);
+        final var underTest = AndFunction.and(s1);
+        final List<Object> values = new ArrayList<>();
+        underTest.addPropertyChangeListener(e -> values.add(e.getNewValue()));
+        // when
+        underTest.addSource(s2);
+        // then
+        assertThat(underTest.get(), is(false));
+        assertThat(underTest.sources.length, is(2));
+        // when
+        underTest.removeSource(s2);
+        s2.setBoolean(true);
+        s2.setBoolean(false);
+        // then
+        assertThat(underTest.get(), is(true));
+        assertThat(underTest.sources.length, is(1));
+        assertThat(values, is(List.of(false, true)));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_evaluate_many_sources_incrementally()
+      {
+        // given
+        final List<BoundBooleanProperty> sources = new ArrayList<>();
+
+        for (var i = 0; i < 1000; i++)
+          {
+            sources.add(new BoundBooleanProperty(true));
+          }
+
+        final var underTest = AndFunction.and(sources.toArray(new BoundBooleanProperty[0]));
+        final List<Object> values = new ArrayList<>();
+        underTest.addPropertyChangeListener(e -> values.add(e.getNewValue()));
+        // when
+        sources.get(10).setBoolean(false);
+        sources.get(20).setBoolean(false);
+        sources.get(10).setBoolean(true);
+        sources.get(20).setBoolean(true);
+        // then
+        assertThat(values, is(List.of(false, true)));
+      }
+  }
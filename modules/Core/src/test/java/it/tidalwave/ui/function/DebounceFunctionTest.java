@@ -0,0 +1,175 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.function;
+
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import it.tidalwave.ui.core.BoundProperty;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import static it.tidalwave.ui.function.DebounceFunction.debounce;
+import static it.tidalwave.ui.function.DistinctUntilChangedFunction.distinctUntilChanged;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class DebounceFunctionTest
+  {
+    private static final Duration DELAY = Duration.ofMillis(300);
+
+    private VirtualScheduler scheduler;
+
+    private BoundProperty<String> source;
+
+    private List<Object> values;
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @BeforeMethod
+    public void setup()
+      {
+        scheduler = new VirtualScheduler();
+        source = new BoundProperty<>("");
+        values = new ArrayList<>();
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_propagate_once_per_pause()
+      {
+        // given
+        final var underTest = debounce(source, DELAY, scheduler);
+        underTest.addPropertyChangeListener(e -> values.add(e.getNewValue()));
+        // when
+        source.set("f");
+        scheduler.advanceBy(Duration.ofMillis(100));
+        source.set("fo");
+        scheduler.advanceBy(Duration.ofMillis(100));
+        source.set("foo");
+        scheduler.advanceBy(Duration.ofMillis(299));
+        // then
+        assertThat(values, is(List.of()));
+        assertThat(underTest.get(), is(""));
+        // when
+        scheduler.advanceBy(Duration.ofMillis(1));
+        // then
+        assertThat(values, is(List.of("foo")));
+        assertThat(underTest.get(), is("foo"));
+        assertThat(scheduler.getPendingTaskCount(), is(0));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_propagate_after_each_pause()
+      {
+        // given
+        final var underTest = debounce(source, DELAY, scheduler);
+        underTest.addPropertyChangeListener(e -> values.add(e.getNewValue()));
+        // when
+        source.set("foo");
+        scheduler.advanceBy(DELAY);
+        source.set("bar");
+        scheduler.advanceBy(DELAY);
+        // then
+        assertThat(values, is(List.of("foo", "bar")));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_not_propagate_from_a_task_superseded_while_starting()
+      {
+        // given
+        final var beforeRun = new ArrayList<Runnable>();
+        final var interleaving = new Scheduler()
+          {
+            @Override
+            public long nanoTime()
+              {
+                return scheduler.nanoTime();
+              }
+
+            @Override @Nonnull
+            public Task schedule (@Nonnull final Runnable task, @Nonnull final Duration delay)
+              {
+                return scheduler.schedule(() ->
+                  {
+                    // simulates a change arriving after the task has started, but before it has acquired the lock
+                    new ArrayList<>(beforeRun).forEach(Runnable::run);
+                    beforeRun.clear();
+                    task.run();
+                  }, delay);
+              }
+          };
+        final var underTest = debounce(source, DELAY, interleaving);
+        underTest.addPropertyChangeListener(e -> values.add(e.getNewValue()));
+        source.set("foo");
+        beforeRun.add(() -> source.set("bar"));
+        // when
+        scheduler.advanceBy(DELAY);
+        // then
+        assertThat(values, is(List.of()));
+        assertThat(underTest.get(), is(""));
+        assertThat(scheduler.getPendingTaskCount(), is(1));
+        // when
+        scheduler.advanceBy(DELAY);
+        // then
+        assertThat(values, is(List.of("bar")));
+        assertThat(scheduler.getPendingTaskCount(), is(0));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_suppress_equivalent_values_when_combined_with_distinct_until_changed()
+      {
+        // given
+        final var underTest = distinctUntilChanged(debounce(source, DELAY, scheduler), (a, b) -> a.trim().equals(b.trim()));
+        underTest.addPropertyChangeListener(e -> values.add(e.getNewValue()));
+        // when
+        source.set("foo");
+        scheduler.advanceBy(DELAY);
+        source.set("foo ");
+        scheduler.advanceBy(DELAY);
+        source.set("bar");
+        scheduler.advanceBy(DELAY);
+        // then
+        assertThat(values, is(List.of("foo", "bar")));
+      }
+  }
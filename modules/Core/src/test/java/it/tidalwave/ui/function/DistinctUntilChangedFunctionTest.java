@@ -0,0 +1,120 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.function;
+
+import java.util.ArrayList;
+import java.util.List;
+import it.tidalwave.ui.core.BoundProperty;
+import org.testng.annotations.Test;
+import static it.tidalwave.ui.function.DistinctUntilChangedFunction.distinctUntilChanged;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class DistinctUntilChangedFunctionTest
+  {
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_start_with_the_value_of_the_source()
+      {
+        // given
+        final var source = new BoundProperty<>("a");
+        // when
+        final var underTest = distinctUntilChanged(source);
+        // then
+        assertThat(underTest.get(), is("a"));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_propagate_only_distinct_values()
+      {
+        // given
+        final var source = new BoundProperty<>("a");
+        final var underTest = distinctUntilChanged(source);
+        final List<Object> values = new ArrayList<>();
+        underTest.addPropertyChangeListener(e -> values.add(e.getOldValue() + "->" + e.getNewValue()));
+        // when
+        source.set("b");
+        source.set("b");
+        source.set("c");
+        // then
+        assertThat(values, is(List.of("a->b", "b->c")));
+        assertThat(underTest.get(), is("c"));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_use_the_custom_equivalence()
+      {
+        // given
+        final var source = new BoundProperty<>("foo");
+        final var underTest = distinctUntilChanged(source, (a, b) -> a.trim().equalsIgnoreCase(b.trim()));
+        final List<Object> values = new ArrayList<>();
+        underTest.addPropertyChangeListener(e -> values.add(e.getNewValue()));
+        // when
+        source.set(" FOO ");
+        source.set("Foo");
+        // then
+        assertThat(values, is(List.of()));
+        assertThat(underTest.get(), is("foo"));
+        // when
+        source.set("bar");
+        // then
+        assertThat(values, is(List.of("bar")));
+        assertThat(underTest.get(), is("bar"));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_compare_with_the_last_propagated_value_rather_than_the_last_source_value()
+      {
+        // given
+        final var source = new BoundProperty<>("abc");
+        final var underTest = distinctUntilChanged(source, (a, b) -> a.length() == b.length());
+        final List<Object> values = new ArrayList<>();
+        underTest.addPropertyChangeListener(e -> values.add(e.getNewValue()));
+        // when
+        source.set("xyz");
+        source.set("ab");
+        source.set("abc");
+        // then
+        assertThat(values, is(List.of("ab", "abc")));
+        assertThat(underTest.get(), is("abc"));
+      }
+  }
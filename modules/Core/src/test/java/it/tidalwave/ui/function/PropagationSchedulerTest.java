@@ -0,0 +1,202 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.function;
+
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import it.tidalwave.ui.core.BoundProperty;
+import it.tidalwave.ui.core.ChangingSource;
+import org.testng.annotations.Test;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class PropagationSchedulerTest
+  {
+    static class TestFunction extends UnaryBoundFunctionSupport<String, Boolean>
+      {
+        @Nonnull
+        private final Predicate<String> predicate;
+
+        int count;
+
+        TestFunction (@Nonnull final ChangingSource<String> source, @Nonnull final Predicate<String> predicate)
+          {
+            super(source);
+            this.predicate = predicate;
+            value = function(source.get());
+          }
+
+        @Override
+        protected void onSourceChange (final String oldSourceValue, final String newSourceValue)
+          {
+            count++;
+            super.onSourceChange(oldSourceValue, newSourceValue);
+          }
+
+        @Override @Nonnull
+        protected Boolean function (final String value)
+          {
+            return predicate.test(value);
+          }
+      }
+
+    static class TestAndFunction extends BooleanBoundFunctionSupport
+      {
+        int count;
+
+        @SafeVarargs
+        TestAndFunction (@Nonnull final ChangingSource<Boolean> ... sources)
+          {
+            super(sources);
+          }
+
+        @Override
+        protected boolean function (final int trueCount, final int sourceCount)
+          {
+            count++;
+            return trueCount == sourceCount;
+          }
+
+        @Override
+        protected boolean function()
+          {
+            throw new UnsupportedOperationException();
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_not_expose_glitches_in_a_diamond()
+      {
+        // given
+        final var source = new BoundProperty<>("");
+        final var nonEmpty = new TestFunction(source, s -> !s.isEmpty());
+        final var empty = new TestFunction(source, String::isEmpty);
+        final var underTest = new TestAndFunction(nonEmpty, empty);
+        final var initialCount = underTest.count;
+        final List<Object> values = new ArrayList<>();
+        underTest.addPropertyChangeListener(e -> values.add(e.getNewValue()));
+        // when
+        source.set("x");
+        source.set("");
+        // then
+        assertThat(values, is(List.of()));
+        assertThat(underTest.get(), is(false));
+        assertThat(nonEmpty.count, is(2));
+        assertThat(empty.count, is(2));
+        assertThat(underTest.count - initialCount, is(2));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_rank_functions_after_their_sources()
+      {
+        // given
+        final var source = new BoundProperty<>("");
+        final var f1 = new TestFunction(source, s -> !s.isEmpty());
+        final var f2 = new TestFunction(source, String::isEmpty);
+        // when
+        final var f3 = new TestAndFunction(f1, f2);
+        final var f4 = new TestAndFunction(f3, f1);
+        // then
+        assertThat(f1.rank, is(1));
+        assertThat(f2.rank, is(1));
+        assertThat(f3.rank, is(2));
+        assertThat(f4.rank, is(3));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_raise_the_rank_of_dependents_when_a_source_is_added()
+      {
+        // given
+        final var source = new BoundProperty<>("");
+        final var nonEmpty = new TestFunction(source, s -> !s.isEmpty());
+        final var empty = new TestFunction(source, String::isEmpty);
+        final var deep = new TestAndFunction(new TestAndFunction(nonEmpty));
+        final var function = new TestAndFunction(new BoundProperty<>(true));
+        final var underTest = new TestAndFunction(function, empty);
+        // when
+        function.addSource(deep);
+        final var initialCount = underTest.count;
+        source.set("x");
+        // then
+        assertThat(deep.rank, is(3));
+        assertThat(function.rank, is(4));
+        assertThat(underTest.rank, is(5));
+        assertThat(underTest.get(), is(false));
+        assertThat(underTest.count - initialCount, is(1));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_recompute_all_functions_and_rethrow_the_first_failure()
+      {
+        // given
+        final var source = new BoundProperty<>("");
+        final var failure = new IllegalStateException("failure");
+        final var failing = new TestFunction(source, s ->
+          {
+            if (!s.isEmpty())
+              {
+                throw failure;
+              }
+
+            return true;
+          });
+        final var underTest = new TestFunction(source, String::isEmpty);
+        RuntimeException thrown = null;
+        // when
+        try
+          {
+            source.set("x");
+          }
+        catch (RuntimeException e)
+          {
+            thrown = e;
+          }
+        // then
+        assertThat(thrown, is(sameInstance(failure)));
+        assertThat(failing.count, is(1));
+        assertThat(underTest.count, is(1));
+        assertThat(underTest.get(), is(false));
+      }
+  }
@@ -0,0 +1,79 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.function;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import it.tidalwave.ui.core.BoundProperty;
+import org.testng.annotations.Test;
+import static it.tidalwave.ui.function.ThrottleFunction.throttle;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class ThrottleFunctionTest
+  {
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_propagate_at_most_once_per_period()
+      {
+        // given
+        final var scheduler = new VirtualScheduler();
+        final var source = new BoundProperty<>(0);
+        final var underTest = throttle(source, Duration.ofMillis(100), scheduler);
+        final List<Object> values = new ArrayList<>();
+        underTest.addPropertyChangeListener(e -> values.add(e.getNewValue()));
+        // when
+        source.set(1);
+        // then
+        assertThat(values, is(List.of(1)));
+        // when
+        for (var i = 2; i <= 5; i++)
+          {
+            scheduler.advanceBy(Duration.ofMillis(10));
+            source.set(i);
+          }
+        // then
+        assertThat(values, is(List.of(1)));
+        // when
+        scheduler.advanceBy(Duration.ofMillis(60));
+        // then
+        assertThat(values, is(List.of(1, 5)));
+        assertThat(underTest.get(), is(5));
+        // when
+        scheduler.advanceBy(Duration.ofMillis(100));
+        source.set(6);
+        // then
+        assertThat(values, is(List.of(1, 5, 6)));
+      }
+  }
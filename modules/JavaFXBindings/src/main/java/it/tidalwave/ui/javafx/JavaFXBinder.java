@@ -52,6 +52,10 @@ import it.tidalwave.ui.core.role.Visibility;
 import it.tidalwave.ui.javafx.role.CustomGraphicProvider;
 import it.tidalwave.util.ui.UserNotification;
 import it.tidalwave.util.ui.UserNotificationWithFeedback;
+import it.tidalwave.ui.core.BoundBooleanProperty;
+import it.tidalwave.ui.core.BoundDoubleProperty;
+import it.tidalwave.ui.core.BoundIntProperty;
+import it.tidalwave.ui.core.BoundLongProperty;
 import it.tidalwave.ui.core.BoundProperty;
 import it.tidalwave.ui.core.role.PresentationModel;
 import it.tidalwave.ui.core.role.UserAction;
@@ -513,6 +517,38 @@ public interface JavaFXBinder
         bindBidirectionally(property1, property2, Number::doubleValue, a -> a);
       }
 
+    /***********************************************************************************************************************************************************
+     * Bidirectionally binds two properties. Values are not boxed on the {@code BoundBooleanProperty} side.
+     * @param   property1   the former property
+     * @param   property2   the latter property
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public void bindBidirectionally (@Nonnull BoundBooleanProperty property1, @Nonnull BooleanProperty property2);
+
+    /***********************************************************************************************************************************************************
+     * Bidirectionally binds two properties. Values are not boxed on the {@code BoundIntProperty} side.
+     * @param   property1   the former property
+     * @param   property2   the latter property
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public void bindBidirectionally (@Nonnull BoundIntProperty property1, @Nonnull IntegerProperty property2);
+
+    /***********************************************************************************************************************************************************
+     * Bidirectionally binds two properties. Values are not boxed on the {@code BoundLongProperty} side.
+     * @param   property1   the former property
+     * @param   property2   the latter property
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public void bindBidirectionally (@Nonnull BoundLongProperty property1, @Nonnull LongProperty property2);
+
+    /***********************************************************************************************************************************************************
+     * Bidirectionally binds two properties. Values are not boxed on the {@code BoundDoubleProperty} side.
+     * @param   property1   the former property
+     * @param   property2   the latter property
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public void bindBidirectionally (@Nonnull BoundDoubleProperty property1, @Nonnull DoubleProperty property2);
+
     /***********************************************************************************************************************************************************
      *
      **********************************************************************************************************************************************************/
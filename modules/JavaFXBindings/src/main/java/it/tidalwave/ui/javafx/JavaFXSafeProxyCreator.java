@@ -42,6 +42,8 @@ import it.tidalwave.ui.javafx.impl.DefaultJavaFXBinder;
 import it.tidalwave.ui.javafx.impl.DefaultJavaFXMenuBarControl;
 import it.tidalwave.ui.javafx.impl.DefaultJavaFXToolBarControl;
 import it.tidalwave.ui.javafx.impl.util.JavaFXSafeProxy;
+import it.tidalwave.ui.javafx.impl.util.LaneExecutor;
+import it.tidalwave.ui.javafx.impl.util.VirtualThreads;
 import it.tidalwave.util.PreferencesHandler;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -132,13 +134,25 @@ public class JavaFXSafeProxyCreator
     private static final String P_TIMEOUT = JavaFXSafeProxyCreator.class.getName() + ".initTimeout";
     private static final int initializerTimeout = Integer.getInteger(P_TIMEOUT, 10);
 
+    private static final String P_POOL_SIZE = JavaFXSafeProxyCreator.class.getName() + ".poolSize";
+    private static final int poolSize =
+            Integer.getInteger(P_POOL_SIZE, Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())));
+
+    private static final String P_VIRTUAL_THREADS = JavaFXSafeProxyCreator.class.getName() + ".virtualThreads";
+    private static final boolean virtualThreads = Boolean.getBoolean(P_VIRTUAL_THREADS);
+
     public static final Map<Class<?>, Object> BEANS = new HashMap<>();
 
     @Getter
     private static final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 
+    /** Serialises tasks per view on top of {@link #executor}, or of virtual threads if enabled by a system property;
+     * tasks without a key are serialised in a default lane. */
+    @Getter
+    private static final LaneExecutor laneExecutor = new LaneExecutor(virtualThreads ? virtualThreadExecutor() : executor);
+
     @Getter
-    private static final JavaFXBinder javaFxBinder = new DefaultJavaFXBinder(executor);
+    private static final JavaFXBinder javaFxBinder = new DefaultJavaFXBinder(laneExecutor);
 
     @Getter
     private static final JavaFXToolBarControl toolBarControl = new DefaultJavaFXToolBarControl();
@@ -150,12 +164,12 @@ public class JavaFXSafeProxyCreator
       {
         executor.setWaitForTasksToCompleteOnShutdown(false);
         executor.setThreadNamePrefix("javafxBinder-");
-        // Fix for STB-26
-        executor.setCorePoolSize(1);
-        executor.setMaxPoolSize(1);
+        // STB-26 is fixed by laneExecutor, which keeps FIFO ordering per lane
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
         executor.setQueueCapacity(10000);
         BEANS.put(JavaFXBinder.class, javaFxBinder);
-        BEANS.put(Executor.class, executor);
+        BEANS.put(Executor.class, laneExecutor);
         BEANS.put(JavaFXToolBarControl.class, toolBarControl);
         BEANS.put(JavaFXMenuBarControl.class, menuBarControl);
         BEANS.put(PreferencesHandler.class, PreferencesHandler.getInstance());
@@ -163,6 +177,23 @@ public class JavaFXSafeProxyCreator
 
     private JavaFXSafeProxyCreator () {}
 
+    /***********************************************************************************************************************************************************
+     * Returns an executor running tasks in virtual threads, falling back to {@link #executor} if they're not supported.
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    private static Executor virtualThreadExecutor()
+      {
+        final var virtualThreadExecutor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+
+        if (virtualThreadExecutor.isEmpty())
+          {
+            return executor;
+          }
+
+        log.info("Binder background tasks will run in virtual threads");
+        return virtualThreadExecutor.get();
+      }
+
     /***********************************************************************************************************************************************************
      * Creates a {@link NodeAndDelegate} for the given presentation class. The FXML resource name is inferred by
      * default, For instance, is the class is named {@code JavaFXFooBarPresentation}, the resource name is
@@ -26,12 +26,18 @@
 package it.tidalwave.ui.javafx.impl;
 
 import jakarta.annotation.Nonnull;
+import java.beans.PropertyChangeListener;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.LongProperty;
 import javafx.beans.property.Property;
 import javafx.geometry.HPos;
 import javafx.geometry.VPos;
@@ -48,7 +54,12 @@ import javafx.scene.layout.Priority;
 import javafx.stage.Window;
 import javafx.application.Platform;
 import it.tidalwave.role.SimpleComposite;
+import it.tidalwave.ui.core.BoundBooleanProperty;
+import it.tidalwave.ui.core.BoundDoubleProperty;
+import it.tidalwave.ui.core.BoundIntProperty;
+import it.tidalwave.ui.core.BoundLongProperty;
 import it.tidalwave.ui.core.BoundProperty;
+import it.tidalwave.ui.core.ManagedPropertyChangeListener;
 import it.tidalwave.ui.core.role.Displayable;
 import it.tidalwave.ui.core.role.PresentationModel;
 import it.tidalwave.ui.core.role.Styleable;
@@ -65,7 +76,9 @@ import it.tidalwave.ui.javafx.impl.list.ListViewBindings;
 import it.tidalwave.ui.javafx.impl.tableview.TableViewBindings;
 import it.tidalwave.ui.javafx.impl.tree.TreeViewBindings;
 import it.tidalwave.ui.javafx.impl.treetable.TreeTableViewBindings;
+import it.tidalwave.ui.javafx.impl.util.JavaFXSafeRunner;
 import it.tidalwave.util.As;
+import lombok.RequiredArgsConstructor;
 import lombok.experimental.Delegate;
 import lombok.extern.slf4j.Slf4j;
 import static java.util.Collections.emptyList;
@@ -85,6 +98,12 @@ public class DefaultJavaFXBinder implements JavaFXBinder
   {
     private static final As.Type<SimpleComposite<PresentationModel>>  _SimpleCompositePresentationModel_ = new As.Type<>(SimpleComposite.class);
 
+    private static final String PROP_TEXT_ADAPTER = DefaultJavaFXBinder.class.getName() + ".textAdapter";
+
+    private static final String PROP_VALID_LISTENER = DefaultJavaFXBinder.class.getName() + ".validListener";
+
+    private static final String PROP_VALID_LISTENER_DELEGATE = DefaultJavaFXBinder.class.getName() + ".validListenerDelegate";
+
     private final Executor executor;
 
     private final String invalidTextFieldStyle = "-fx-background-color: pink";
@@ -187,13 +206,76 @@ public class DefaultJavaFXBinder implements JavaFXBinder
       {
         enforceFxApplicationThread();
         property2.addListener((_1, _2, newValue) -> executor.execute(() -> property1.set(adapter.apply(newValue))));
-        property1.addPropertyChangeListener(evt -> Platform.runLater(() -> property2.setValue(reverseAdapter.apply((T)evt.getNewValue()))));
+        // The listener is weakly registered to property1 and anchored to property2, so it lives as long as the latter.
+        final PropertyChangeListener listener = evt -> JavaFXSafeRunner.runLater(property2, () -> property2.setValue(reverseAdapter.apply((T)evt.getNewValue())));
+        property1.addWeakPropertyChangeListener(listener);
+        property2.addListener(new Anchor(listener));
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public void bindBidirectionally (@Nonnull final BoundBooleanProperty property1, @Nonnull final BooleanProperty property2)
+      {
+        bindBooleans(property1, property2, false);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public void bindBidirectionally (@Nonnull final BoundIntProperty property1, @Nonnull final IntegerProperty property2)
+      {
+        enforceFxApplicationThread();
+        property2.addListener(__ ->
+          {
+            final var value = property2.get();
+            executor.execute(() -> property1.setInt(value));
+          });
+        final BoundIntProperty.Listener listener = (__, newValue) -> JavaFXSafeRunner.runLater(property2, () -> property2.set(newValue));
+        property1.addWeakListener(listener);
+        property2.addListener(new Anchor(listener));
       }
 
     /***********************************************************************************************************************************************************
      * {@inheritDoc}
      **********************************************************************************************************************************************************/
     @Override
+    public void bindBidirectionally (@Nonnull final BoundLongProperty property1, @Nonnull final LongProperty property2)
+      {
+        enforceFxApplicationThread();
+        property2.addListener(__ ->
+          {
+            final var value = property2.get();
+            executor.execute(() -> property1.setLong(value));
+          });
+        final BoundLongProperty.Listener listener = (__, newValue) -> JavaFXSafeRunner.runLater(property2, () -> property2.set(newValue));
+        property1.addWeakListener(listener);
+        property2.addListener(new Anchor(listener));
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override
+    public void bindBidirectionally (@Nonnull final BoundDoubleProperty property1, @Nonnull final DoubleProperty property2)
+      {
+        enforceFxApplicationThread();
+        property2.addListener(__ ->
+          {
+            final var value = property2.get();
+            executor.execute(() -> property1.setDouble(value));
+          });
+        final BoundDoubleProperty.Listener listener = (__, newValue) -> JavaFXSafeRunner.runLater(property2, () -> property2.set(newValue));
+        property1.addWeakListener(listener);
+        property2.addListener(new Anchor(listener));
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @SuppressWarnings("unchecked")
     public void bindBidirectionally (@Nonnull final TextField textField,
                                      @Nonnull final BoundProperty<String> textProperty,
                                      @Nonnull final BoundProperty<Boolean> validProperty)
@@ -203,10 +285,29 @@ public class DefaultJavaFXBinder implements JavaFXBinder
         requireNonNull(textProperty, "textProperty");
         requireNonNull(validProperty, "validProperty");
 
-        textField.textProperty().bindBidirectional(new PropertyAdapter<>(executor, textProperty));
+        // Both the adapter and the listener are weakly registered and anchored to the TextField, so they don't outlive it;
+        // when the TextField is bound again, the previous ones are released.
+        final var properties = textField.getProperties();
+        final var oldAdapter = (PropertyAdapter<String>)properties.get(PROP_TEXT_ADAPTER);
+
+        if (oldAdapter != null)
+          {
+            textField.textProperty().unbindBidirectional(oldAdapter);
+          }
 
-        // FIXME: weak listener
-        validProperty.addPropertyChangeListener(__ -> textField.setStyle(validProperty.get() ? "" : invalidTextFieldStyle));
+        final var oldListener = (ManagedPropertyChangeListener)properties.get(PROP_VALID_LISTENER);
+
+        if (oldListener != null)
+          {
+            oldListener.remove();
+          }
+
+        final var adapter = new PropertyAdapter<>(executor, textProperty, true);
+        textField.textProperty().bindBidirectional(adapter);
+        final PropertyChangeListener validListener = __ -> textField.setStyle(validProperty.get() ? "" : invalidTextFieldStyle);
+        properties.put(PROP_TEXT_ADAPTER, adapter);
+        properties.put(PROP_VALID_LISTENER, validProperty.addWeakPropertyChangeListener(validListener));
+        properties.put(PROP_VALID_LISTENER_DELEGATE, validListener);
       }
 
     /***********************************************************************************************************************************************************
@@ -305,7 +406,48 @@ public class DefaultJavaFXBinder implements JavaFXBinder
     private void bindEnableProperty (@Nonnull final BooleanProperty property1, @Nonnull final BoundProperty<Boolean> property2)
       {
         property1.setValue(!property2.get());
-        property1.addListener((_1, _2, newValue) -> executor.execute(() -> property2.set(!newValue)));
-        property2.addPropertyChangeListener(evt -> Platform.runLater(() -> property1.setValue(!(boolean)evt.getNewValue())));
+
+        if (property2 instanceof BoundBooleanProperty)
+          {
+            bindBooleans((BoundBooleanProperty)property2, property1, true);
+          }
+        else
+          {
+            bindBidirectionally(property2, property1, b -> !b, b -> !b);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Bidirectionally binds two boolean properties, optionally negating the value.
+     **********************************************************************************************************************************************************/
+    private void bindBooleans (@Nonnull final BoundBooleanProperty property1,
+                               @Nonnull final BooleanProperty property2,
+                               final boolean negated)
+      {
+        enforceFxApplicationThread();
+        property2.addListener(__ ->
+          {
+            final var value = property2.get();
+            executor.execute(() -> property1.setBoolean(value ^ negated));
+          });
+        final BoundBooleanProperty.Listener listener = (__, newValue) -> JavaFXSafeRunner.runLater(property2, () -> property2.set(newValue ^ negated));
+        property1.addWeakListener(listener);
+        property2.addListener(new Anchor(listener));
+      }
+
+    /***********************************************************************************************************************************************************
+     * A do-nothing JavaFX listener whose only purpose is to keep a strong reference to a listener that has been weakly
+     * registered.
+     **********************************************************************************************************************************************************/
+    @RequiredArgsConstructor
+    private static class Anchor implements InvalidationListener
+      {
+        @Nonnull
+        private final Object listener;
+
+        @Override
+        public void invalidated (@Nonnull final Observable observable)
+          {
+          }
       }
   }
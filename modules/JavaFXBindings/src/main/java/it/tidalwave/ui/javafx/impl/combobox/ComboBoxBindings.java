@@ -46,6 +46,7 @@ import it.tidalwave.ui.javafx.impl.common.ChangeListenerSelectableAdapter;
 import it.tidalwave.ui.javafx.impl.common.DelegateSupport;
 import it.tidalwave.ui.javafx.impl.common.JavaFXWorker;
 import it.tidalwave.ui.javafx.impl.list.AsObjectListCell;
+import it.tidalwave.ui.javafx.impl.util.LaneExecutor;
 import lombok.extern.slf4j.Slf4j;
 import static javafx.scene.input.KeyCode.*;
 import static it.tidalwave.ui.core.role.UserActionProvider._UserActionProvider_;
@@ -113,8 +114,9 @@ public class ComboBoxBindings extends DelegateSupport
 
         final var selectedProperty = comboBox.getSelectionModel().selectedItemProperty();
         selectedProperty.removeListener(changeListener);
-        JavaFXWorker.run(executor,
-                         () -> childrenPm(pm),
+        final var lane = LaneExecutor.lane(executor, comboBox);
+        JavaFXWorker.run(lane,
+                         () -> childrenPm(lane, pm),
                          items -> finalize(comboBox, items, selectedProperty, callback));
       }
 
@@ -0,0 +1,216 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.javafx.impl.common;
+
+import jakarta.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javafx.collections.ObservableList;
+import it.tidalwave.util.annotation.VisibleForTesting;
+import it.tidalwave.ui.core.role.PresentationModel;
+import lombok.experimental.UtilityClass;
+
+/***************************************************************************************************************************************************************
+ *
+ * Computes and applies the difference between two lists of children, so that a refresh only performs the minimal
+ * amount of removals, insertions and moves. Items are matched by a key: for {@link PresentationModel}s it is the
+ * owner, if available, since a refreshed composite usually creates new {@code PresentationModel}s for the same
+ * objects.
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@UtilityClass
+public class ChildrenDiff
+  {
+    /** The maximum number of moves and insertions applied one by one, before replacing the whole list. */
+    public static final int MAX_INDIVIDUAL_CHANGES = 32;
+
+    /***********************************************************************************************************************************************************
+     * Returns the key used to match a {@link PresentationModel} against another one.
+     *
+     * @param   pm      the {@code PresentationModel}
+     * @return          the key
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static Object keyOf (@Nonnull final PresentationModel pm)
+      {
+        return pm.maybeOwner().orElse(pm);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Matches two lists of keys. For each element of the new list, the returned array contains the index of the
+     * corresponding element in the old list, or -1 if there's no such element. Keys are compared by equality; each
+     * old element is matched at most once, so duplicate keys are paired in order.
+     *
+     * @param   oldKeys   the old keys
+     * @param   newKeys   the new keys
+     * @return            the matching indexes
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static int[] match (@Nonnull final List<?> oldKeys, @Nonnull final List<?> newKeys)
+      {
+        final Map<Object, Deque<Integer>> oldIndexes = new HashMap<>();
+
+        for (var i = 0; i < oldKeys.size(); i++)
+          {
+            oldIndexes.computeIfAbsent(oldKeys.get(i), __ -> new ArrayDeque<>()).add(i);
+          }
+
+        final var result = new int[newKeys.size()];
+
+        for (var i = 0; i < result.length; i++)
+          {
+            final var indexes = oldIndexes.get(newKeys.get(i));
+            result[i] = ((indexes == null) || indexes.isEmpty()) ? -1 : indexes.removeFirst();
+          }
+
+        return result;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Updates a list so that it contains the given items, in the same order. Items are compared by identity. The items
+     * in the longest subsequence of the list that is already in the desired order are kept in place; all the other
+     * items are removed in a single operation, then the moved and the new items are inserted at their positions, a
+     * trailing run of them in a single operation. Since each insertion in the middle of the list is a separate change,
+     * when they are more than {@link #MAX_INDIVIDUAL_CHANGES} the whole list is replaced at once.
+     *
+     * @param   <T>       the type of items
+     * @param   target    the list to update
+     * @param   desired   the items that the list must contain
+     **********************************************************************************************************************************************************/
+    public static <T> void apply (@Nonnull final List<T> target, @Nonnull final List<? extends T> desired)
+      {
+        final var kept = inOrderItems(target, desired);
+
+        if (desired.size() - kept.size() > MAX_INDIVIDUAL_CHANGES)
+          {
+            if (target instanceof ObservableList)
+              {
+                ((ObservableList<T>)target).setAll(desired);
+              }
+            else
+              {
+                target.clear();
+                target.addAll(desired);
+              }
+
+            return;
+          }
+
+        if (kept.size() < target.size())
+          {
+            final Set<T> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+            target.stream().filter(item -> !kept.contains(item)).forEach(removed::add);
+            target.removeAll(removed);
+          }
+
+        for (var i = 0; i < desired.size(); i++)
+          {
+            if (i >= target.size())
+              {
+                target.addAll(desired.subList(i, desired.size()));
+                break;
+              }
+
+            final T item = desired.get(i);
+
+            if (target.get(i) != item)
+              {
+                target.add(i, item);
+              }
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Computes the number of insertions that {@link #apply(List, List)} performs, one by one, to turn a list into
+     * another, without the fallback to a whole replacement. Items in the longest subsequence already in the right order
+     * are kept in place; all the others, as well as the new items, are inserted.
+     *
+     * @param   current   the current list
+     * @param   desired   the desired list
+     * @return            the number of changes
+     **********************************************************************************************************************************************************/
+    @VisibleForTesting static int countIndividualChanges (@Nonnull final List<?> current, @Nonnull final List<?> desired)
+      {
+        return desired.size() - inOrderItems(current, desired).size();
+      }
+
+    /***********************************************************************************************************************************************************
+     * Finds the items of the current list that are in the longest subsequence already in the desired order. The
+     * subsequence is computed in O(n log n).
+     *
+     * @param   current   the current list
+     * @param   desired   the desired list
+     * @return            the items, compared by identity
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    private static <T> Set<T> inOrderItems (@Nonnull final List<T> current, @Nonnull final List<?> desired)
+      {
+        final Map<Object, Integer> positions = new IdentityHashMap<>();
+
+        for (var i = 0; i < current.size(); i++)
+          {
+            positions.put(current.get(i), i);
+          }
+
+        // tails[k] is the position in current of the smallest last item of an increasing subsequence of length k + 1
+        final var tails = new int[current.size()];
+        // previous[p] is the position in current of the item before the one at p in its subsequence, or -1
+        final var previous = new int[current.size()];
+        var length = 0;
+
+        for (final var item : desired)
+          {
+            final var position = positions.get(item);
+
+            if (position != null)
+              {
+                final var k = Arrays.binarySearch(tails, 0, length, position);
+                final var insertionPoint = (k >= 0) ? k : -(k + 1);
+                tails[insertionPoint] = position;
+                previous[position] = (insertionPoint > 0) ? tails[insertionPoint - 1] : -1;
+                length = Math.max(length, insertionPoint + 1);
+              }
+          }
+
+        final Set<T> result = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (var position = (length > 0) ? tails[length - 1] : -1; position >= 0; position = previous[position])
+          {
+            result.add(current.get(position));
+          }
+
+        return result;
+      }
+  }
@@ -27,8 +27,12 @@ package it.tidalwave.ui.javafx.impl.common;
 
 import jakarta.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import javafx.collections.ObservableList;
 import javafx.scene.control.Cell;
 import javafx.scene.control.ContextMenu;
@@ -38,12 +42,16 @@ import it.tidalwave.ui.javafx.role.CustomGraphicProvider;
 import it.tidalwave.util.As;
 import it.tidalwave.util.annotation.VisibleForTesting;
 import it.tidalwave.ui.core.role.Displayable;
+import it.tidalwave.ui.core.role.LightweightRole;
+import it.tidalwave.ui.core.role.PresentationModel;
+import it.tidalwave.ui.core.role.Styleable;
 import it.tidalwave.ui.core.role.UserAction;
 import it.tidalwave.ui.core.role.UserActionProvider;
-import lombok.RequiredArgsConstructor;
+import it.tidalwave.ui.javafx.impl.util.JavaFXUpdateDispatcher;
+import it.tidalwave.ui.javafx.impl.util.LaneExecutor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import static it.tidalwave.ui.javafx.role.CustomGraphicProvider._CustomGraphicProvider_;
-import static java.util.stream.Collectors.*;
 import static it.tidalwave.ui.core.role.Displayable._Displayable_;
 import static it.tidalwave.ui.core.role.Styleable._Styleable_;
 import static it.tidalwave.ui.core.role.UserActionProvider._UserActionProvider_;
@@ -55,7 +63,7 @@ import static it.tidalwave.ui.core.role.UserActionProvider._UserActionProvider_;
  * @author  Fabrizio Giudici
  *
  **************************************************************************************************************************************************************/
-@RequiredArgsConstructor @Slf4j
+@Slf4j
 public class DefaultCellBinder implements CellBinder
   {
     /** Roles to preload, so they are computed in the background thread. */
@@ -64,9 +72,51 @@ public class DefaultCellBinder implements CellBinder
 
     private static final String ROLE_STYLE_PREFIX = "-rs-";
 
+    /** The key of the generation counter in the properties of a {@link Cell}. */
+    private static final String GENERATION_KEY = DefaultCellBinder.class.getName() + ".generation";
+
+    /** The key of the recycled {@link ContextMenu} in the properties of a {@link Cell}. */
+    private static final String CONTEXT_MENU_KEY = DefaultCellBinder.class.getName() + ".contextMenu";
+
     @Nonnull
     private final Executor executor;
 
+    /** The executor that runs the completion of background jobs in the JavaFX thread. */
+    @Nonnull
+    private final Executor javaFxExecutor;
+
+    /** The cache of role bags, so role discovery is not repeated when a cell is bound again to the same item. */
+    @Getter
+    private final RoleBagCache roleBagCache = new RoleBagCache();
+
+    /** The number of jobs skipped before starting, because the cell had been bound again in the meantime. */
+    private final AtomicLong cancelledCount = new AtomicLong();
+
+    /** The number of jobs whose results were dropped, because the cell had been bound again while they were running. */
+    private final AtomicLong discardedCount = new AtomicLong();
+
+    /***********************************************************************************************************************************************************
+     * Creates an instance.
+     *
+     * @param     executor        the executor for background jobs and actions
+     **********************************************************************************************************************************************************/
+    public DefaultCellBinder (@Nonnull final Executor executor)
+      {
+        this(executor, JavaFXUpdateDispatcher.getInstance()::submit);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Creates an instance.
+     *
+     * @param     executor        the executor for background jobs and actions
+     * @param     javaFxExecutor  the executor that runs the completion of background jobs in the JavaFX thread
+     **********************************************************************************************************************************************************/
+    @VisibleForTesting DefaultCellBinder (@Nonnull final Executor executor, @Nonnull final Executor javaFxExecutor)
+      {
+        this.executor = executor;
+        this.javaFxExecutor = javaFxExecutor;
+      }
+
     /***********************************************************************************************************************************************************
      * {@inheritDoc}
      **********************************************************************************************************************************************************/
@@ -75,15 +125,150 @@ public class DefaultCellBinder implements CellBinder
       {
         log.trace("bind({}, {}, {})", cell, item, empty);
         clearBindings(cell);
+        final var generationCounter = generationCounterOf(cell);
+        generationCounter.incrementAndGet();
 
         if (!empty && (item != null))
           {
-            JavaFXWorker.run(executor,
-                             () -> new RoleBag(item, PRELOADING_ROLE_TYPES),
-                             roles -> bindAll(cell, roles));
+            final var cached = roleBagCache.getIfPresent(item);
+
+            if (cached.isPresent())
+              {
+                bindAll(cell, cached.get());
+                return;
+              }
+
+            bindLightweightRoles(cell, item);
+            bindInBackground(cell, item, generationCounter, roles -> bindAll(cell, roles));
           }
       }
 
+    /***********************************************************************************************************************************************************
+     * Retrieves the {@link RoleBag} of an item in background, then passes it to a binder in the JavaFX thread. The job
+     * belongs to the current generation: it is cancelled if the generation changes before it starts, and its result is
+     * discarded if the generation changes before it completes.
+     *
+     * @param     lane              the key of the lane where the job runs
+     * @param     item              the item
+     * @param     generationCounter the generation counter of the cell
+     * @param     binder            the binder of the {@code RoleBag}
+     **********************************************************************************************************************************************************/
+    @VisibleForTesting void bindInBackground (@Nonnull final Object lane,
+                                              @Nonnull final As item,
+                                              @Nonnull final AtomicLong generationCounter,
+                                              @Nonnull final Consumer<RoleBag> binder)
+      {
+        final var generation = generationCounter.get();
+        JavaFXWorker.run(LaneExecutor.lane(executor, lane),
+                         () -> createRoleBag(item, generationCounter, generation),
+                         roles -> bindIfCurrent(roles, generationCounter, generation, binder),
+                         javaFxExecutor);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Binds the {@link Displayable} and the {@link Styleable} of an item to a {@link Cell}, if they are
+     * {@link LightweightRole}s; in this way the cell is immediately rendered, without waiting for the background job
+     * that retrieves the other roles. Only {@link PresentationModel}s are able to tell whether they have lightweight
+     * roles. The text is not set if the item is cheaply known to have a {@link CustomGraphicProvider}, since it would
+     * be replaced by the custom graphics; but if the latter is only available through a global role, this can't be known
+     * in advance and the text is rendered for a moment.
+     *
+     * @param     cell            the {@code Cell}
+     * @param     item            the item
+     **********************************************************************************************************************************************************/
+    private void bindLightweightRoles (@Nonnull final Cell<?> cell, @Nonnull final As item)
+      {
+        if (item instanceof PresentationModel)
+          {
+            final var pm = (PresentationModel)item;
+
+            if (!pm.hasCheaplyKnownRole(_CustomGraphicProvider_))
+              {
+                pm.maybeAsLightweight(_Displayable_).ifPresent(displayable -> cell.setText(displayable.getDisplayName()));
+              }
+
+            pm.maybeAsLightweight(_Styleable_).ifPresent(styleable -> bindStyles(cell.getStyleClass(), List.of(styleable)));
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Creates, or retrieves from the cache, the {@link RoleBag} for an item, unless the job has been superseded before starting.
+     *
+     * @param     item              the item
+     * @param     generationCounter the generation counter of the cell
+     * @param     generation        the generation of this job
+     * @return                      the role bag, or {@code null} if the job has been cancelled
+     **********************************************************************************************************************************************************/
+    @Nullable
+    private RoleBag createRoleBag (@Nonnull final As item, @Nonnull final AtomicLong generationCounter, final long generation)
+      {
+        if (generationCounter.get() != generation)
+          {
+            cancelledCount.incrementAndGet();
+            return null;
+          }
+
+        return roleBagCache.get(item, () -> new RoleBag(item, PRELOADING_ROLE_TYPES));
+      }
+
+    /***********************************************************************************************************************************************************
+     * Passes the given {@link RoleBag} to a binder, unless the cell has been bound again in the meantime.
+     *
+     * @param     roles             the role bag, or {@code null} if the job has been cancelled
+     * @param     generationCounter the generation counter of the cell
+     * @param     generation        the generation of this job
+     * @param     binder            the binder
+     **********************************************************************************************************************************************************/
+    private void bindIfCurrent (@Nullable final RoleBag roles,
+                                @Nonnull final AtomicLong generationCounter,
+                                final long generation,
+                                @Nonnull final Consumer<RoleBag> binder)
+      {
+        if (roles == null)
+          {
+            return;
+          }
+
+        if (generationCounter.get() != generation)
+          {
+            discardedCount.incrementAndGet();
+            return;
+          }
+
+        binder.accept(roles);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the number of background jobs that were cancelled before starting} because the cell had been bound again.
+     **********************************************************************************************************************************************************/
+    public long getCancelledCount()
+      {
+        return cancelledCount.get();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the number of background jobs whose results were discarded} because the cell had been bound again while
+     * they were running.
+     **********************************************************************************************************************************************************/
+    public long getDiscardedCount()
+      {
+        return discardedCount.get();
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns the generation counter of a {@link Cell}, which is incremented each time the cell is bound. A background
+     * job is superseded when the counter doesn't match the generation it was started with. This method must be called
+     * in the JavaFX thread; the returned counter can be read by any thread.
+     *
+     * @param     cell            the {@code Cell}
+     * @return                    the generation counter
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    private static AtomicLong generationCounterOf (@Nonnull final Cell<?> cell)
+      {
+        return (AtomicLong)cell.getProperties().computeIfAbsent(GENERATION_KEY, __ -> new AtomicLong());
+      }
+
     /***********************************************************************************************************************************************************
      * Binds everything provided by the given {@link RoleBag} to the given {@link Cell}.
      *
@@ -95,7 +280,7 @@ public class DefaultCellBinder implements CellBinder
         bindTextAndGraphic(cell, roles);
         bindDefaultAction(cell, roles);
         bindContextMenu(cell, roles);
-        bindStyles(cell.getStyleClass(), roles);
+        bindStyles(cell.getStyleClass(), roles.getMany(_Styleable_));
       }
 
     /***********************************************************************************************************************************************************
@@ -147,52 +332,107 @@ public class DefaultCellBinder implements CellBinder
 
     /***********************************************************************************************************************************************************
      * Binds the {@link UserAction}s provided by the given {@link RoleBag} as items of the contextual menu of a
-     * {@link Cell}.
+     * {@link Cell}. The menu is populated only when requested, since most cells never show it; the same
+     * {@link ContextMenu} and {@link MenuItem}s are recycled each time the cell is bound again.
      *
      * @param     cell            the {@code Cell}
      * @param     roles           the role bag
      **********************************************************************************************************************************************************/
     private void bindContextMenu (@Nonnull final Cell<?> cell, @Nonnull final RoleBag roles)
       {
-        final var menuItems = createMenuItems(roles);
-        cell.setContextMenu(menuItems.isEmpty() ? null : new ContextMenu(menuItems.toArray(new MenuItem[0])));
+        if (roles.getMany(_UserActionProvider_).isEmpty())
+          {
+            return;
+          }
+
+        cell.setOnContextMenuRequested(event ->
+          {
+            final var contextMenu = contextMenuOf(cell);
+            populateMenuItems(contextMenu.getItems(), roles);
+
+            if (!contextMenu.getItems().isEmpty())
+              {
+                contextMenu.show(cell, event.getScreenX(), event.getScreenY());
+                event.consume();
+              }
+          });
       }
 
     /***********************************************************************************************************************************************************
-     * Adds all the styles provided by the given {@link RoleBag} to a {@link ObservableList} of styles.
+     * Adds all the styles provided by the given {@link Styleable}s to a {@link ObservableList} of styles.
      *
      * @param     styleClasses    the destination where to add styles
-     * @param     roles           the role bag
+     * @param     styleables      the {@code Styleable}s
      **********************************************************************************************************************************************************/
-    @Nonnull
-    private void bindStyles (@Nonnull final ObservableList<String> styleClasses, @Nonnull final RoleBag roles)
+    private void bindStyles (@Nonnull final ObservableList<String> styleClasses,
+                             @Nonnull final Collection<? extends Styleable> styleables)
       {
-        final var styles = styleClasses.stream()
-                                       .filter(s -> !s.startsWith(ROLE_STYLE_PREFIX))
-                                       .collect(toList());
+        final var styles = new ArrayList<String>(styleClasses.size());
+
+        for (final var style : styleClasses)
+          {
+            if (!style.startsWith(ROLE_STYLE_PREFIX))
+              {
+                styles.add(style);
+              }
+          }
+
         // FIXME: shouldn't reset them? In case of cell reuse, they get accumulated
-        styles.addAll(roles.getMany(_Styleable_)
-                           .stream()
-                           .flatMap(styleable -> styleable.getStyles().stream())
-                           .map(s -> ROLE_STYLE_PREFIX + s)
-                           .collect(toList()));
+        for (final var styleable : styleables)
+          {
+            for (final var style : styleable.getStyles())
+              {
+                styles.add(ROLE_STYLE_PREFIX + style);
+              }
+          }
+
         styleClasses.setAll(styles);
       }
 
     /***********************************************************************************************************************************************************
-     * Create a list of {@link MenuItem}s for each action provided by the given {@link RoleBag}.
-     * Don't directly return a ContextMenu otherwise it will be untestable.
+     * Populates a list of {@link MenuItem}s with an item for each action provided by the given {@link RoleBag}, reusing
+     * the items already present.
      *
+     * @param     menuItems       the items to populate
      * @param     roles           the role bag
-     * @return                    the list of {@MenuItem}s
+     **********************************************************************************************************************************************************/
+    @VisibleForTesting public void populateMenuItems (@Nonnull final List<MenuItem> menuItems, @Nonnull final RoleBag roles)
+      {
+        var count = 0;
+
+        for (final var uap : roles.getMany(_UserActionProvider_))
+          {
+            for (final var action : uap.getActions())
+              {
+                if (count < menuItems.size())
+                  {
+                    bindMenuItem(menuItems.get(count), action);
+                  }
+                else
+                  {
+                    menuItems.add(createMenuItem(action));
+                  }
+
+                count++;
+              }
+          }
+
+        if (count < menuItems.size())
+          {
+            menuItems.subList(count, menuItems.size()).clear();
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns the {@link ContextMenu} of a {@link Cell}, creating it the first time.
+     *
+     * @param     cell            the {@code Cell}
+     * @return                    the {@code ContextMenu}
      **********************************************************************************************************************************************************/
     @Nonnull
-    @VisibleForTesting public List<MenuItem> createMenuItems (@Nonnull final RoleBag roles)
+    private static ContextMenu contextMenuOf (@Nonnull final Cell<?> cell)
       {
-        return roles.getMany(_UserActionProvider_).stream()
-                    .flatMap(uap -> uap.getActions().stream())
-                    .map(this::createMenuItem)
-                    .collect(toList());
+        return (ContextMenu)cell.getProperties().computeIfAbsent(CONTEXT_MENU_KEY, __ -> new ContextMenu());
       }
 
     /***********************************************************************************************************************************************************
@@ -203,6 +443,7 @@ public class DefaultCellBinder implements CellBinder
         cell.setText("");
         cell.setGraphic(null);
         cell.setContextMenu(null);
+        cell.setOnContextMenuRequested(null);
         cell.setOnKeyPressed(null);
         cell.setOnMouseClicked(null);
       }
@@ -216,8 +457,20 @@ public class DefaultCellBinder implements CellBinder
     @Nonnull
     private MenuItem createMenuItem (@Nonnull final UserAction action)
       {
-        final var menuItem = new MenuItem(action.as(_Displayable_).getDisplayName());
-        menuItem.setOnAction(new EventHandlerUserActionAdapter(executor, action));
+        final var menuItem = new MenuItem();
+        bindMenuItem(menuItem, action);
         return menuItem;
       }
+
+    /***********************************************************************************************************************************************************
+     * Binds a {@link MenuItem} to the given action.
+     *
+     * @param     menuItem        the {@code MenuItem}
+     * @param     action          the action
+     **********************************************************************************************************************************************************/
+    private void bindMenuItem (@Nonnull final MenuItem menuItem, @Nonnull final UserAction action)
+      {
+        menuItem.setText(action.as(_Displayable_).getDisplayName());
+        menuItem.setOnAction(new EventHandlerUserActionAdapter(executor, action));
+      }
   }
@@ -34,15 +34,16 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import javafx.collections.ObservableList;
-import javafx.application.Platform;
 import it.tidalwave.util.annotation.VisibleForTesting;
 import it.tidalwave.ui.core.role.PresentationModel;
+import it.tidalwave.ui.javafx.impl.util.JavaFXUpdateDispatcher;
 import it.tidalwave.ui.javafx.impl.util.Logging;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import static java.util.Collections.emptyList;
 import static javafx.collections.FXCollections.*;
 import static it.tidalwave.role.SimpleComposite._SimpleComposite_;
+import static it.tidalwave.ui.core.role.PresentationModel._SimpleCompositeOfPresentationModel_;
 import static it.tidalwave.ui.javafx.impl.util.Logging.INDENT;
 
 /***************************************************************************************************************************************************************
@@ -56,13 +57,62 @@ public class JavaFXWorker
     public static <T> void run (@Nonnull final Executor executor,
                                 @Nonnull Supplier<T> backgroundSupplier,
                                 @Nonnull Consumer<T> javaFxFinalizer)
+      {
+        run(executor, backgroundSupplier, javaFxFinalizer, JavaFXUpdateDispatcher.getInstance()::submit);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Runs a task in background, then passes its result to a finalizer by means of the given {@link Executor}, which is
+     * expected to run it in the JavaFX thread. If the task fails, the exception is logged.
+     *
+     * @param   executor            the executor for the background task
+     * @param   backgroundSupplier  the background task
+     * @param   javaFxFinalizer     the finalizer
+     * @param   javaFxExecutor      the executor for the finalizer
+     **********************************************************************************************************************************************************/
+    public static <T> void run (@Nonnull final Executor executor,
+                                @Nonnull Supplier<T> backgroundSupplier,
+                                @Nonnull Consumer<T> javaFxFinalizer,
+                                @Nonnull final Executor javaFxExecutor)
+      {
+        run(executor, backgroundSupplier, javaFxFinalizer, e -> {}, javaFxExecutor);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Runs a task in background, then passes its result to a finalizer by means of the given {@link Executor}, which is
+     * expected to run it in the JavaFX thread. If the task fails, the exception is logged and passed to a failure
+     * handler, by means of the same {@code Executor}.
+     *
+     * @param   executor              the executor for the background task
+     * @param   backgroundSupplier    the background task
+     * @param   javaFxFinalizer       the finalizer
+     * @param   javaFxFailureHandler  the failure handler
+     * @param   javaFxExecutor        the executor for the finalizer and the failure handler
+     **********************************************************************************************************************************************************/
+    public static <T> void run (@Nonnull final Executor executor,
+                                @Nonnull Supplier<T> backgroundSupplier,
+                                @Nonnull Consumer<T> javaFxFinalizer,
+                                @Nonnull final Consumer<? super RuntimeException> javaFxFailureHandler,
+                                @Nonnull final Executor javaFxExecutor)
       {
         try
           {
             executor.execute(() ->
               {
-                final var value = backgroundSupplier.get();
-                Platform.runLater(() -> javaFxFinalizer.accept(value));
+                final T value;
+
+                try
+                  {
+                    value = backgroundSupplier.get();
+                  }
+                catch (RuntimeException e)
+                  {
+                    log.error("Background task failed", e);
+                    javaFxExecutor.execute(() -> javaFxFailureHandler.accept(e));
+                    return;
+                  }
+
+                javaFxExecutor.execute(() -> javaFxFinalizer.accept(value));
               });
           }
         catch (RejectedExecutionException e)
@@ -77,6 +127,40 @@ public class JavaFXWorker
         return childrenPm(pm, 0);
       }
 
+    /***********************************************************************************************************************************************************
+     * Returns the children of the given {@link PresentationModel}. If they are many, a {@link PagedObservableList} is
+     * returned, which retrieves them on demand by means of the given {@link Executor}.
+     *
+     * @param   executor    the executor for retrieving pages
+     * @param   pm          the {@code PresentationModel}
+     * @return              the children
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static ObservableList<PresentationModel> childrenPm (@Nonnull final Executor executor,
+                                                                @Nonnull final PresentationModel pm)
+      {
+        final var composite = pm.maybeAs(_SimpleCompositeOfPresentationModel_);
+
+        if (composite.isPresent())
+          {
+            final var finder = composite.get().findChildren();
+            // Don't call count() upfront, as with some Finders it would retrieve everything
+            final var firstItems = finder.max(PagedObservableList.THRESHOLD).results();
+
+            if ((firstItems.size() >= PagedObservableList.THRESHOLD) && extractBadItems(firstItems).isEmpty())
+              {
+                final var size = finder.count();
+                log.debug("Using a paged list for {} items", size);
+                return new PagedObservableList(executor, finder, size, firstItems);
+              }
+
+            Logging.logObject("", composite);
+            return toObservableList("", firstItems);
+          }
+
+        return emptyObservableList();
+      }
+
     @Nonnull
     public static ObservableList<PresentationModel> childrenPm (@Nonnull final PresentationModel pm,
                                                                 @Nonnegative int depth)
@@ -85,6 +169,13 @@ public class JavaFXWorker
         final var composite = pm.maybeAs(_SimpleComposite_);
         composite.ifPresent(c -> Logging.logObject(indent, composite));
         final List<PresentationModel> items = composite.map(c -> c.findChildren().results()).orElse(emptyList());
+        return toObservableList(indent, items);
+      }
+
+    @Nonnull
+    private static ObservableList<PresentationModel> toObservableList (@Nonnull final String indent,
+                                                                       @Nonnull final List<PresentationModel> items)
+      {
         final var badItems = extractBadItems(items);
 
         if (!badItems.isEmpty()) // defensive
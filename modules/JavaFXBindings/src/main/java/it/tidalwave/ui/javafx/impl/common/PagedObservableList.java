@@ -0,0 +1,278 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.javafx.impl.common;
+
+import javax.annotation.Nonnegative;
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import javafx.collections.ObservableListBase;
+import it.tidalwave.util.Finder;
+import it.tidalwave.ui.core.role.Displayable;
+import it.tidalwave.ui.core.role.PresentationModel;
+import it.tidalwave.ui.javafx.impl.util.JavaFXUpdateDispatcher;
+import lombok.extern.slf4j.Slf4j;
+
+/***************************************************************************************************************************************************************
+ *
+ * A read-only {@link javafx.collections.ObservableList} of {@link PresentationModel}s backed by a {@link Finder}, which
+ * is queried a page at a time. Only the pages that are accessed (that is, those rendered in the viewport) plus their
+ * neighbours are retrieved, in background; a bounded number of them is kept in memory. While a page is being retrieved,
+ * a placeholder is returned for its items; when it is available, a change is fired so the control renders it. If the
+ * retrieval fails, the page is retrieved again the next time it is accessed.
+ *
+ * {@link #indexOf(Object)}, {@link #lastIndexOf(Object)} and {@link #contains(Object)} only search the pages that have
+ * been retrieved, consistently with {@link #get(int)} returning placeholders for the others. Iterating the list,
+ * instead, goes through {@link #get(int)} and so triggers the retrieval of all the pages: it defeats paging and
+ * should be avoided.
+ *
+ * This class must be only accessed in the JavaFX thread.
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@Slf4j
+public class PagedObservableList extends ObservableListBase<PresentationModel>
+  {
+    private static final String P_THRESHOLD = PagedObservableList.class.getName() + ".threshold";
+    private static final String P_PAGE_SIZE = PagedObservableList.class.getName() + ".pageSize";
+    private static final String P_MAX_PAGES = PagedObservableList.class.getName() + ".maxPages";
+
+    /** The minimum number of items for which a paged list is used. */
+    public static final int THRESHOLD = Integer.getInteger(P_THRESHOLD, 5000);
+
+    private static final int PAGE_SIZE = Integer.getInteger(P_PAGE_SIZE, 100);
+
+    private static final int MAX_PAGES = Integer.getInteger(P_MAX_PAGES, 20);
+
+    @Nonnull
+    private final Executor executor;
+
+    @Nonnull
+    private final Executor javaFxExecutor;
+
+    @Nonnull
+    private final Finder<PresentationModel> finder;
+
+    @Nonnegative
+    private final int size;
+
+    @Nonnegative
+    private final int pageSize;
+
+    private final PresentationModel placeholder = PresentationModel.of("", Displayable.DEFAULT);
+
+    private final Set<Integer> pendingPages = new HashSet<>();
+
+    private final Map<Integer, List<PresentationModel>> pages;
+
+    /***********************************************************************************************************************************************************
+     * Creates a new instance.
+     *
+     * @param   executor    the executor for retrieving pages
+     * @param   finder      the finder of the items
+     * @param   size        the number of items
+     * @param   firstItems  the first items, already retrieved
+     **********************************************************************************************************************************************************/
+    public PagedObservableList (@Nonnull final Executor executor,
+                                @Nonnull final Finder<PresentationModel> finder,
+                                @Nonnegative final int size,
+                                @Nonnull final List<PresentationModel> firstItems)
+      {
+        this(executor, finder, size, firstItems, PAGE_SIZE, MAX_PAGES, JavaFXUpdateDispatcher.getInstance()::submit);
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    PagedObservableList (@Nonnull final Executor executor,
+                         @Nonnull final Finder<PresentationModel> finder,
+                         @Nonnegative final int size,
+                         @Nonnull final List<PresentationModel> firstItems,
+                         @Nonnegative final int pageSize,
+                         @Nonnegative final int maxPages,
+                         @Nonnull final Executor javaFxExecutor)
+      {
+        this.executor = executor;
+        this.javaFxExecutor = javaFxExecutor;
+        this.finder = finder;
+        this.size = size;
+        this.pageSize = pageSize;
+        pages = new LinkedHashMap<>(maxPages * 2, 0.75f, true)
+          {
+            @Override
+            protected boolean removeEldestEntry (@Nonnull final Map.Entry<Integer, List<PresentationModel>> eldest)
+              {
+                return size() > maxPages;
+              }
+          };
+
+        for (var from = 0; (from + pageSize <= firstItems.size()) && (pages.size() < maxPages); from += pageSize)
+          {
+            pages.put(from / pageSize, new ArrayList<>(firstItems.subList(from, from + pageSize)));
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnull
+    public PresentationModel get (@Nonnegative final int index)
+      {
+        if ((index < 0) || (index >= size))
+          {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+          }
+
+        final var pageIndex = index / pageSize;
+        final var page = pages.get(pageIndex);
+        // also prepare neighbours, for smooth scrolling
+        fetch(pageIndex + 1);
+        fetch(pageIndex - 1);
+
+        if (page == null)
+          {
+            fetch(pageIndex);
+            return placeholder;
+          }
+
+        final var offset = index % pageSize;
+        return (offset < page.size()) ? page.get(offset) : placeholder; // defensive, the data source might have changed
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
+    @Override @Nonnegative
+    public int size()
+      {
+        return size;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc} Only the pages that have been retrieved are searched.
+     **********************************************************************************************************************************************************/
+    @Override
+    public int indexOf (final Object object)
+      {
+        var result = -1;
+
+        for (final var entry : pages.entrySet())
+          {
+            final var index = toIndex(entry.getKey(), entry.getValue().indexOf(object));
+
+            if ((index >= 0) && ((result < 0) || (index < result)))
+              {
+                result = index;
+              }
+          }
+
+        return result;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc} Only the pages that have been retrieved are searched.
+     **********************************************************************************************************************************************************/
+    @Override
+    public int lastIndexOf (final Object object)
+      {
+        var result = -1;
+
+        for (final var entry : pages.entrySet())
+          {
+            result = Math.max(result, toIndex(entry.getKey(), entry.getValue().lastIndexOf(object)));
+          }
+
+        return result;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc} Only the pages that have been retrieved are searched.
+     **********************************************************************************************************************************************************/
+    @Override
+    public boolean contains (final Object object)
+      {
+        return indexOf(object) >= 0;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the index of an item given its offset in a page, or -1 if the offset is negative or beyond the size}.
+     **********************************************************************************************************************************************************/
+    private int toIndex (final int pageIndex, final int offset)
+      {
+        final var index = pageIndex * pageSize + offset;
+        return ((offset < 0) || (index >= size)) ? -1 : index;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Retrieves a page in background, unless it's already available or being retrieved.
+     **********************************************************************************************************************************************************/
+    private void fetch (final int pageIndex)
+      {
+        if ((pageIndex >= 0) && (pageIndex * pageSize < size) && !pages.containsKey(pageIndex) && pendingPages.add(pageIndex))
+          {
+            log.trace("fetching page {}", pageIndex);
+            JavaFXWorker.run(executor,
+                             () -> finder.from(pageIndex * pageSize).max(pageSize).results(),
+                             page -> install(pageIndex, page),
+                             e -> discard(pageIndex),
+                             javaFxExecutor);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Forgets about a page whose retrieval failed, so it can be retrieved again.
+     **********************************************************************************************************************************************************/
+    private void discard (final int pageIndex)
+      {
+        log.warn("retrieval of page {} failed", pageIndex);
+        pendingPages.remove(pageIndex);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Installs a retrieved page and notifies listeners that its items have been replaced.
+     **********************************************************************************************************************************************************/
+    private void install (final int pageIndex, @Nonnull final List<? extends PresentationModel> page)
+      {
+        pendingPages.remove(pageIndex);
+        pages.put(pageIndex, new ArrayList<>(page));
+        final var from = pageIndex * pageSize;
+        final var to = Math.min(from + pageSize, size);
+        beginChange();
+
+        for (var i = from; i < to; i++)
+          {
+            nextSet(i, placeholder);
+          }
+
+        endChange();
+      }
+  }
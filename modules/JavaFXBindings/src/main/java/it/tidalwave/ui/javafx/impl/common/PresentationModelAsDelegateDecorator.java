@@ -28,8 +28,8 @@ package it.tidalwave.ui.javafx.impl.common;
 import jakarta.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 import it.tidalwave.util.As;
 import it.tidalwave.util.AsException;
 import it.tidalwave.ui.core.role.PresentationModel;
@@ -80,10 +80,32 @@ public class PresentationModelAsDelegateDecorator implements PresentationModel
     @Override @Nonnull
     public <T> Collection<T> asMany (@Nonnull final Class<? extends T> type)
       {
-        final List<T> results = new ArrayList<>();
-        results.addAll(pmDelegate.asMany(type));
-        results.addAll(asDelegate.asMany(type));
-
+        final var results = new ArrayList<T>();
+        forEachRole(type, results::add);
         return results;
       }
+
+    @Override
+    public <T> boolean anyRole (@Nonnull final Class<? extends T> type, @Nonnull final Predicate<? super T> predicate)
+      {
+        if (pmDelegate.anyRole(type, predicate))
+          {
+            return true;
+          }
+
+        if (asDelegate instanceof PresentationModel)
+          {
+            return ((PresentationModel)asDelegate).anyRole(type, predicate);
+          }
+
+        for (final T role : asDelegate.<T>asMany(type))
+          {
+            if (predicate.test(role))
+              {
+                return true;
+              }
+          }
+
+        return false;
+      }
   }
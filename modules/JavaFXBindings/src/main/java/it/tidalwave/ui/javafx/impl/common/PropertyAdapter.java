@@ -32,11 +32,12 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.Executor;
 import javafx.beans.InvalidationListener;
+import javafx.beans.WeakListener;
 import javafx.beans.property.Property;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
-import javafx.application.Platform;
 import it.tidalwave.ui.core.BoundProperty;
+import it.tidalwave.ui.javafx.impl.util.JavaFXSafeRunner;
 import lombok.extern.slf4j.Slf4j;
 
 /***************************************************************************************************************************************************************
@@ -45,6 +46,11 @@ import lombok.extern.slf4j.Slf4j;
  * the JavaFX {@code Property} is updated in the JavaFX UI thread. Conversely, updates on the JavaFX 
  * {@code BoundProperty} are executed in a separated thread provided by an {@link Executor}.
  *
+ * JavaFX listeners implementing {@link WeakListener} (such as the ones installed by
+ * {@link Property#bindBidirectional(Property)}) are discarded as soon as they report they have been garbage collected.
+ * The adapter can also be registered weakly to the {@code BoundProperty}: in this case the caller must keep a strong
+ * reference to the adapter, for instance by storing it in the properties of the control it's bound to.
+ *
  * TODO: javafx.beans.binding.BooleanExpression.booleanExpression(source)? Does it do threading?
  * 
  * @author  Fabrizio Giudici
@@ -59,10 +65,8 @@ public class PropertyAdapter<T> implements Property<T>
     @Nonnull
     private final BoundProperty<T> delegate;
 
-    // FIXME: WEAK LISTENER!!
     private final List<ChangeListener<? super T>> changeListeners = new ArrayList<>();
-    
-    // FIXME: WEAK LISTENER!!
+
     private final List<InvalidationListener> invalidationListeners = new ArrayList<>();
 
     private T boundValue;
@@ -74,8 +78,9 @@ public class PropertyAdapter<T> implements Property<T>
         if (!Objects.equals(boundValue, event.getNewValue()))
           {
             boundValue = (T)event.getNewValue();
-            Platform.runLater(() ->
+            JavaFXSafeRunner.runLater(() ->
               {
+                expungeCollectedListeners();
                 new ArrayList<>(invalidationListeners)
                         .forEach(listener -> listener.invalidated(this));
                 new ArrayList<>(changeListeners)
@@ -86,11 +91,32 @@ public class PropertyAdapter<T> implements Property<T>
     };
 
     public PropertyAdapter (@Nonnull final Executor executor, @Nonnull final BoundProperty<T> delegate)
+      {
+        this(executor, delegate, false);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Creates a new instance.
+     *
+     * @param   executor    the executor for updating the {@code BoundProperty}
+     * @param   delegate    the {@code BoundProperty}
+     * @param   weak        whether this object should be weakly registered to the {@code BoundProperty}
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public PropertyAdapter (@Nonnull final Executor executor, @Nonnull final BoundProperty<T> delegate, final boolean weak)
       {
         this.executor = executor;
         this.delegate = delegate;
         this.boundValue = delegate.get();
-        delegate.addPropertyChangeListener(propertyChangeListener);
+
+        if (weak)
+          {
+            delegate.addWeakPropertyChangeListener(propertyChangeListener);
+          }
+        else
+          {
+            delegate.addPropertyChangeListener(propertyChangeListener);
+          }
       }
 
     @Override
@@ -114,6 +140,7 @@ public class PropertyAdapter<T> implements Property<T>
     @Override
     public void addListener (@Nonnull final ChangeListener<? super T> listener)
       {
+        expungeCollectedListeners();
         changeListeners.add(listener);
       }
 
@@ -126,6 +153,7 @@ public class PropertyAdapter<T> implements Property<T>
     @Override
     public void addListener (@Nonnull final InvalidationListener listener)
       {
+        expungeCollectedListeners();
         invalidationListeners.add(listener);
       }
 
@@ -183,4 +211,21 @@ public class PropertyAdapter<T> implements Property<T>
         log.warn("getName()");
         throw new UnsupportedOperationException("Not supported yet.");
       }
+
+    /***********************************************************************************************************************************************************
+     * Removes the {@link WeakListener}s whose referent has been garbage collected.
+     **********************************************************************************************************************************************************/
+    private void expungeCollectedListeners()
+      {
+        changeListeners.removeIf(PropertyAdapter::wasGarbageCollected);
+        invalidationListeners.removeIf(PropertyAdapter::wasGarbageCollected);
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private static boolean wasGarbageCollected (@Nonnull final Object listener)
+      {
+        return (listener instanceof WeakListener) && ((WeakListener)listener).wasGarbageCollected();
+      }
   }
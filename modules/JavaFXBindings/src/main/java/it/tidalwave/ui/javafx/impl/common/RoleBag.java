@@ -32,7 +32,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import it.tidalwave.util.As;
+import it.tidalwave.ui.core.role.PresentationModel;
 import it.tidalwave.ui.core.role.UserAction;
 import lombok.Getter;
 import lombok.ToString;
@@ -64,7 +66,7 @@ public class RoleBag
         roleTypes.forEach(roleType -> copyRoles(source, roleType));
         // computed NOW because we are in the background thread
         // TODO: perhaps it could be associated to a dummy key, instead of being returned by a getter?
-        defaultUserAction = getMany(_UserActionProvider_).stream().flatMap(a -> a.getOptionalDefaultAction().stream()).findFirst();
+        defaultUserAction = findDefaultUserAction();
       }
 
     public <ROLE_TYPE> void put (@Nonnull final Class<ROLE_TYPE> roleClass, @Nonnull final ROLE_TYPE role)
@@ -81,7 +83,8 @@ public class RoleBag
     @Nonnull
     public <ROLE_TYPE> Optional<ROLE_TYPE> get (@Nonnull final Class<ROLE_TYPE> roleClass)
       {
-        return getMany(roleClass).stream().findFirst();
+        final var roles = map.get(roleClass);
+        return ((roles == null) || roles.isEmpty()) ? Optional.empty() : Optional.of(roleClass.cast(roles.get(0)));
       }
 
     @Nonnull
@@ -91,8 +94,57 @@ public class RoleBag
       }
 
 
+    /***********************************************************************************************************************************************************
+     * Passes each role of the given type to a consumer.
+     *
+     * @param   roleClass   the type of the role
+     * @param   consumer    the consumer
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public <ROLE_TYPE> void forEach (@Nonnull final Class<ROLE_TYPE> roleClass, @Nonnull final Consumer<? super ROLE_TYPE> consumer)
+      {
+        for (final var role : map.getOrDefault(roleClass, emptyList()))
+          {
+            consumer.accept(roleClass.cast(role));
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Copies the roles of the given type; if the source is a {@link PresentationModel} they are directly collected in
+     * the list kept by this object, with no intermediate copies.
+     **********************************************************************************************************************************************************/
     private <ROLE_TYPE> void copyRoles (@Nonnull final As item, @Nonnull final Class<ROLE_TYPE> roleClass)
       {
-        putMany(roleClass, item.asMany(roleClass));
+        final List<Object> roles = new ArrayList<>();
+
+        if (item instanceof PresentationModel)
+          {
+            ((PresentationModel)item).forEachRole(roleClass, roles::add);
+          }
+        else
+          {
+            roles.addAll(item.asMany(roleClass));
+          }
+
+        map.put(roleClass, roles);
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    private Optional<UserAction> findDefaultUserAction()
+      {
+        for (final var userActionProvider : getMany(_UserActionProvider_))
+          {
+            final var action = userActionProvider.getOptionalDefaultAction();
+
+            if (action.isPresent())
+              {
+                return action;
+              }
+          }
+
+        return Optional.empty();
       }
   }
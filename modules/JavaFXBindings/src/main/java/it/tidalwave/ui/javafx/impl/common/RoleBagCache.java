@@ -0,0 +1,402 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.javafx.impl.common;
+
+import jakarta.annotation.Nonnull;
+import javax.annotation.Nonnegative;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import it.tidalwave.util.As;
+import it.tidalwave.ui.core.role.PresentationModel;
+import lombok.extern.slf4j.Slf4j;
+
+/***************************************************************************************************************************************************************
+ *
+ * A cache of {@link RoleBag}s, keyed by {@link PresentationModel}, so role discovery is not repeated each time a cell
+ * bound to the same {@code PresentationModel} is updated (for instance, when scrolling back and forth over a list).
+ *
+ * Keys are compared by identity and weakly referenced. Since a {@code RoleBag} may hold roles that refer to their
+ * {@code PresentationModel}, the cache is also bounded: when full, the least recently used entry is evicted. An entry is
+ * invalidated as soon as its {@code PresentationModel} fires a property change. Items that are not a
+ * {@code PresentationModel} are never cached, since they can't notify changes.
+ *
+ * The maximum size defaults to 4096 entries and can be set by the system property
+ * {@code it.tidalwave.ui.javafx.impl.common.RoleBagCache.maxSize}.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@Slf4j
+public final class RoleBagCache
+  {
+    public static final int DEFAULT_MAX_SIZE = Integer.getInteger(RoleBagCache.class.getName() + ".maxSize", 4096);
+
+    /** A weak reference to a {@link PresentationModel} whose equality is based on the identity of the referent. */
+    private static final class Key extends WeakReference<PresentationModel>
+      {
+        private final int hashCode;
+
+        private Key (@Nonnull final PresentationModel pm, @Nonnull final ReferenceQueue<? super PresentationModel> queue)
+          {
+            super(pm, queue);
+            hashCode = System.identityHashCode(pm);
+          }
+
+        private Key (@Nonnull final PresentationModel pm)
+          {
+            super(pm);
+            hashCode = System.identityHashCode(pm);
+          }
+
+        @Override
+        public int hashCode()
+          {
+            return hashCode;
+          }
+
+        @Override
+        public boolean equals (final Object object)
+          {
+            if (this == object)
+              {
+                return true;
+              }
+
+            if (!(object instanceof Key))
+              {
+                return false;
+              }
+
+            final var referent = get();
+            return (referent != null) && (referent == ((Key)object).get());
+          }
+      }
+
+    /** An entry of the cache; the {@link RoleBag} is {@code null} while it's being computed. */
+    private static final class Entry
+      {
+        @Nonnull
+        private final Key key;
+
+        @Nonnull
+        private final PropertyChangeListener listener;
+
+        private RoleBag roleBag;
+
+        private Entry (@Nonnull final Key key, @Nonnull final PropertyChangeListener listener)
+          {
+            this.key = key;
+            this.listener = listener;
+          }
+      }
+
+    @Nonnegative
+    private final int maxSize;
+
+    private final Map<Key, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final ReferenceQueue<PresentationModel> queue = new ReferenceQueue<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    /***********************************************************************************************************************************************************
+     * Creates a new instance with the default maximum size.
+     **********************************************************************************************************************************************************/
+    public RoleBagCache()
+      {
+        this(DEFAULT_MAX_SIZE);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Creates a new instance.
+     *
+     * @param   maxSize     the maximum number of entries
+     **********************************************************************************************************************************************************/
+    public RoleBagCache (@Nonnegative final int maxSize)
+      {
+        if (maxSize <= 0)
+          {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+          }
+
+        this.maxSize = maxSize;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns the cached {@link RoleBag} for the given item, if present. It doesn't compute anything, so it can be
+     * called in the JavaFX thread. A miss is not counted, since the caller is expected to call
+     * {@link #get(As, Supplier)} afterwards.
+     *
+     * @param   item        the item
+     * @return              the cached {@code RoleBag}
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public Optional<RoleBag> getIfPresent (@Nonnull final As item)
+      {
+        if (!(item instanceof PresentationModel))
+          {
+            return Optional.empty();
+          }
+
+        synchronized (this)
+          {
+            expungeCollectedKeys();
+            final var entry = map.get(new Key((PresentationModel)item));
+
+            if ((entry == null) || (entry.roleBag == null))
+              {
+                return Optional.empty();
+              }
+
+            hitCount.incrementAndGet();
+            return Optional.of(entry.roleBag);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Returns the {@link RoleBag} for the given item, computing it if not cached. The computation happens in the caller
+     * thread, so this method should be called in a background thread.
+     *
+     * @param   item        the item
+     * @param   factory     the factory of the {@code RoleBag}
+     * @return              the {@code RoleBag}
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public RoleBag get (@Nonnull final As item, @Nonnull final Supplier<RoleBag> factory)
+      {
+        if (!(item instanceof PresentationModel))
+          {
+            missCount.incrementAndGet();
+            return factory.get();
+          }
+
+        final var pm = (PresentationModel)item;
+        final var key = new Key(pm, queue);
+        final Entry entry;
+        final List<Entry> evicted = new ArrayList<>();
+
+        synchronized (this)
+          {
+            expungeCollectedKeys();
+            final var existing = map.get(key);
+
+            if ((existing != null) && (existing.roleBag != null))
+              {
+                hitCount.incrementAndGet();
+                return existing.roleBag;
+              }
+
+            missCount.incrementAndGet();
+
+            if (existing != null) // being computed by another thread
+              {
+                entry = null;
+              }
+            else
+              {
+                entry = new Entry(key, event -> invalidate(key));
+                map.put(key, entry);
+                evictEldestEntries(evicted);
+              }
+          }
+
+        // listeners are added and removed outside the lock, as the PresentationModel might fire events while adding
+        removeListeners(evicted);
+
+        if (entry == null)
+          {
+            return factory.get();
+          }
+
+        // registered before computing, so a change occurring in the meantime invalidates the entry
+        pm.addPropertyChangeListener(entry.listener);
+        final var roleBag = factory.get();
+        final boolean current;
+
+        synchronized (this)
+          {
+            current = (map.get(key) == entry);
+
+            if (current)
+              {
+                entry.roleBag = roleBag;
+              }
+          }
+
+        if (!current) // invalidated or evicted in the meantime, perhaps before the listener was added
+          {
+            pm.removePropertyChangeListener(entry.listener);
+          }
+
+        return roleBag;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Removes the entry for the given item, if present.
+     *
+     * @param   item        the item
+     **********************************************************************************************************************************************************/
+    public void invalidate (@Nonnull final As item)
+      {
+        if (item instanceof PresentationModel)
+          {
+            invalidate(new Key((PresentationModel)item));
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Removes all the entries.
+     **********************************************************************************************************************************************************/
+    public void clear()
+      {
+        final List<Entry> removed;
+
+        synchronized (this)
+          {
+            removed = new ArrayList<>(map.values());
+            map.clear();
+          }
+
+        removeListeners(removed);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the number of entries}.
+     **********************************************************************************************************************************************************/
+    public synchronized int size()
+      {
+        expungeCollectedKeys();
+        return map.size();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the number of lookups that found a cached {@code RoleBag}}.
+     **********************************************************************************************************************************************************/
+    public long getHitCount()
+      {
+        return hitCount.get();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the number of lookups that required to compute a {@code RoleBag}}.
+     **********************************************************************************************************************************************************/
+    public long getMissCount()
+      {
+        return missCount.get();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the number of entries evicted because the cache was full}.
+     **********************************************************************************************************************************************************/
+    public long getEvictionCount()
+      {
+        return evictionCount.get();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the number of entries invalidated because of a property change}.
+     **********************************************************************************************************************************************************/
+    public long getInvalidationCount()
+      {
+        return invalidationCount.get();
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private void invalidate (@Nonnull final Key key)
+      {
+        final Entry entry;
+
+        synchronized (this)
+          {
+            entry = map.remove(key);
+          }
+
+        if (entry != null)
+          {
+            log.trace("invalidated: {}", entry.key.get());
+            invalidationCount.incrementAndGet();
+            removeListeners(List.of(entry));
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Evicts the least recently used entries in excess. Must be called while holding the lock.
+     **********************************************************************************************************************************************************/
+    private void evictEldestEntries (@Nonnull final List<Entry> evicted)
+      {
+        for (final var i = map.values().iterator(); (map.size() > maxSize) && i.hasNext(); )
+          {
+            evicted.add(i.next());
+            i.remove();
+            evictionCount.incrementAndGet();
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * Removes entries whose {@link PresentationModel} has been garbage collected. Must be called while holding the lock.
+     * A cleared key is still found by the map, since it's equal to itself.
+     **********************************************************************************************************************************************************/
+    private void expungeCollectedKeys()
+      {
+        for (var ref = queue.poll(); ref != null; ref = queue.poll())
+          {
+            map.remove(ref);
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private static void removeListeners (@Nonnull final List<Entry> entries)
+      {
+        for (final var entry : entries)
+          {
+            final var pm = entry.key.get();
+
+            if (pm != null)
+              {
+                pm.removePropertyChangeListener(entry.listener);
+              }
+          }
+      }
+  }
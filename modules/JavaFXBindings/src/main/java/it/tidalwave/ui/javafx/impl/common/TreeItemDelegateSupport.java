@@ -27,16 +27,21 @@ package it.tidalwave.ui.javafx.impl.common;
 
 import jakarta.annotation.Nonnull;
 import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.function.Function;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.scene.control.TreeItem;
-import javafx.application.Platform;
 import it.tidalwave.util.annotation.VisibleForTesting;
 import it.tidalwave.ui.core.role.PresentationModel;
 import it.tidalwave.ui.core.role.Visibility;
 import it.tidalwave.ui.javafx.impl.tree.ObsoletePresentationModelDisposer;
+import it.tidalwave.ui.javafx.impl.util.JavaFXUpdateDispatcher;
+import it.tidalwave.ui.javafx.impl.util.LaneExecutor;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import static java.util.stream.Collectors.*;
 import static it.tidalwave.ui.core.role.Visibility._Visible_;
@@ -56,7 +61,21 @@ public class TreeItemDelegateSupport extends DelegateSupport
     @VisibleForTesting @Getter()
     private final ChangeListenerSelectableAdapter selectionListener = new ChangeListenerSelectableAdapter(executor);
 
-    private final ObsoletePresentationModelDisposer presentationModelDisposer = new ObsoletePresentationModelDisposer();
+    private final ObsoletePresentationModelDisposer presentationModelDisposer = new ObsoletePresentationModelDisposer(executor);
+
+    /** The outcome of the background computation of children. */
+    @RequiredArgsConstructor
+    private static class Children
+      {
+        @Nonnull
+        private final List<TreeItem<PresentationModel>> oldItems;
+
+        @Nonnull
+        private final List<PresentationModel> pms;
+
+        @Nonnull
+        private final int[] matches;
+      }
 
     /***********************************************************************************************************************************************************
      *
@@ -67,18 +86,137 @@ public class TreeItemDelegateSupport extends DelegateSupport
       }
 
     /***********************************************************************************************************************************************************
-     * Sets the children for a {@link TreeItem}.
+     * Sets the children for a {@link TreeItem}. The new children are matched against the existing ones (see
+     * {@link ChildrenDiff}) in background; then only the minimal set of changes is applied in the JavaFX thread. Existing
+     * {@code TreeItem}s are reused, so their expansion state and their own children are preserved, but they receive the
+     * new {@code PresentationModel}s, while the replaced ones are disposed.
      *
      * @param   parentItem  the {@code TreeItem}
      * @param   depth       the depth level (used only for logging)
      **********************************************************************************************************************************************************/
     protected void setChildren (@Nonnull final TreeItem<PresentationModel> parentItem, final int depth)
       {
-        JavaFXWorker.run(executor,
-                         () -> childrenPm(parentItem.getValue(), depth),
-                         items -> parentItem.getChildren().setAll(items.stream()
-                                                                       .map(childPm -> createTreeItem(childPm, depth))
-                                                                       .collect(toList())));
+        final var parentPm = parentItem.getValue();
+
+        if (parentPm == null)
+          {
+            log.debug(">>>> not setting children of a detached TreeItem");
+            return;
+          }
+
+        final var oldItems = List.copyOf(parentItem.getChildren());
+        final var oldKeys = keysOf(oldItems);
+        JavaFXWorker.run(LaneExecutor.lane(executor, parentItem),
+                         () ->
+                           {
+                             final var pms = childrenPm(parentPm, depth);
+                             return new Children(oldItems, pms, ChildrenDiff.match(oldKeys, keysOfPms(pms)));
+                           },
+                         children -> applyChildren(parentItem, children, depth));
+      }
+
+    /***********************************************************************************************************************************************************
+     * Applies the new children to a {@link TreeItem}. If the children changed in the meantime, the matching is
+     * recomputed. If the {@code TreeItem} has been detached in the meantime, the new children are just disposed.
+     **********************************************************************************************************************************************************/
+    private void applyChildren (@Nonnull final TreeItem<PresentationModel> parentItem,
+                                @Nonnull final Children children,
+                                final int depth)
+      {
+        if (parentItem.getValue() == null)
+          {
+            log.debug(">>>> discarding children of a detached TreeItem");
+            presentationModelDisposer.dispose(children.pms);
+            return;
+          }
+
+        final var items = parentItem.getChildren();
+        var oldItems = children.oldItems;
+        var matches = children.matches;
+
+        if (!items.equals(oldItems))
+          {
+            log.debug(">>>> children of {} changed in the meantime, matching again", parentItem.getValue());
+            oldItems = List.copyOf(items);
+            matches = ChildrenDiff.match(keysOf(oldItems), keysOfPms(children.pms));
+          }
+
+        final var obsoletePms = new ArrayList<PresentationModel>();
+        final var newItems = reuseOrCreate(oldItems, matches, children.pms, pm -> createTreeItem(pm, depth), obsoletePms);
+        ChildrenDiff.apply(items, newItems);
+        presentationModelDisposer.dispose(obsoletePms);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Computes the new children of a {@link TreeItem}. A matched {@code TreeItem} is reused, but it receives the new
+     * {@link PresentationModel}, since its roles (e.g. the display name) might have changed; the replaced
+     * {@code PresentationModel} is collected as obsolete. A {@code TreeItem} is created for each unmatched
+     * {@code PresentationModel}.
+     *
+     * @param   oldItems      the old children
+     * @param   matches       the matches computed by {@link ChildrenDiff#match(List, List)}
+     * @param   pms           the new {@code PresentationModel}s
+     * @param   factory       the factory of new {@code TreeItem}s
+     * @param   obsoletePms   the collector of replaced {@code PresentationModel}s
+     * @return                the new children
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    @VisibleForTesting static List<TreeItem<PresentationModel>> reuseOrCreate (
+            @Nonnull final List<TreeItem<PresentationModel>> oldItems,
+            @Nonnull final int[] matches,
+            @Nonnull final List<PresentationModel> pms,
+            @Nonnull final Function<PresentationModel, TreeItem<PresentationModel>> factory,
+            @Nonnull final List<PresentationModel> obsoletePms)
+      {
+        final List<TreeItem<PresentationModel>> newItems = new ArrayList<>(matches.length);
+
+        for (var i = 0; i < matches.length; i++)
+          {
+            final var pm = pms.get(i);
+
+            if (matches[i] < 0)
+              {
+                newItems.add(factory.apply(pm));
+              }
+            else
+              {
+                final var item = oldItems.get(matches[i]);
+                final var oldPm = item.getValue();
+
+                if (oldPm != pm)
+                  {
+                    item.setValue(pm);
+
+                    if (oldPm != null)
+                      {
+                        obsoletePms.add(oldPm);
+                      }
+                  }
+
+                newItems.add(item);
+              }
+          }
+
+        return newItems;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the keys of the given {@link TreeItem}s}. A detached {@code TreeItem} has no {@link PresentationModel}, so
+     * its key is the item itself, which doesn't match any new child.
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    @VisibleForTesting static List<Object> keysOf (@Nonnull final List<TreeItem<PresentationModel>> items)
+      {
+        return items.stream().map(item -> (item.getValue() == null) ? item : ChildrenDiff.keyOf(item.getValue())).collect(toList());
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    private static List<Object> keysOfPms (@Nonnull final List<PresentationModel> pms)
+      {
+        return pms.stream().map(ChildrenDiff::keyOf).collect(toList());
       }
 
     /***********************************************************************************************************************************************************
@@ -96,14 +234,14 @@ public class TreeItemDelegateSupport extends DelegateSupport
         final TreeItem<PresentationModel> item = new PresentationModelTreeItem(pm);
 
         final PropertyChangeListener recreateChildrenOnUpdateListener = __ ->
-                Platform.runLater(() ->
+                JavaFXUpdateDispatcher.getInstance().submit(item, () ->
           {
             log.debug("On recreateChildrenOnUpdateListener");
             setChildren(item, depth + 1);
             item.setExpanded(true);
           });
 
-        pm.addPropertyChangeListener(PresentationModel.PROPERTY_CHILDREN, recreateChildrenOnUpdateListener);
+        bindChildrenListener(item, recreateChildrenOnUpdateListener);
 
         item.expandedProperty().addListener((observable, oldValue, newValue) ->
           {
@@ -116,6 +254,31 @@ public class TreeItemDelegateSupport extends DelegateSupport
         return item;
       }
 
+    /***********************************************************************************************************************************************************
+     * Registers a listener for the {@link PresentationModel#PROPERTY_CHILDREN} property to the {@link PresentationModel}
+     * of a {@link TreeItem}. When the {@code TreeItem} receives another {@code PresentationModel}, the listener is moved.
+     *
+     * @param   item        the {@code TreeItem}
+     * @param   listener    the listener
+     **********************************************************************************************************************************************************/
+    @VisibleForTesting static void bindChildrenListener (@Nonnull final TreeItem<PresentationModel> item,
+                                                         @Nonnull final PropertyChangeListener listener)
+      {
+        item.getValue().addPropertyChangeListener(PresentationModel.PROPERTY_CHILDREN, listener);
+        item.valueProperty().addListener((observable, oldPm, newPm) ->
+          {
+            if (oldPm != null)
+              {
+                oldPm.removePropertyChangeListener(PresentationModel.PROPERTY_CHILDREN, listener);
+              }
+
+            if (newPm != null)
+              {
+                newPm.addPropertyChangeListener(PresentationModel.PROPERTY_CHILDREN, listener);
+              }
+          });
+      }
+
     /***********************************************************************************************************************************************************
      *
      **********************************************************************************************************************************************************/
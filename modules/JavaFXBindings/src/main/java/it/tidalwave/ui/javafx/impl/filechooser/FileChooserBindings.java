@@ -32,10 +32,10 @@ import java.io.File;
 import java.nio.file.Path;
 import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
-import javafx.application.Platform;
 import it.tidalwave.util.ui.UserNotificationWithFeedback;
 import it.tidalwave.ui.core.BoundProperty;
 import it.tidalwave.ui.javafx.impl.common.DelegateSupport;
+import it.tidalwave.ui.javafx.impl.util.JavaFXSafeRunner;
 import lombok.extern.slf4j.Slf4j;
 import static it.tidalwave.ui.javafx.impl.DefaultJavaFXBinder.enforceFxApplicationThread;
 
@@ -94,13 +94,13 @@ public class FileChooserBindings extends DelegateSupport
       }
 
     /***********************************************************************************************************************************************************
-     *
+     * Notifies the outcome of a chooser. The update is not keyed, since every notification must be delivered.
      **********************************************************************************************************************************************************/
     private void notifyFile (@Nullable final File file,
                              @Nonnull final UserNotificationWithFeedback notification,
                              @Nonnull final BoundProperty<Path> selectedFile)
       {
-        Platform.runLater(() ->
+        JavaFXSafeRunner.runLater(() ->
           {
             try
               {
@@ -42,6 +42,7 @@ import it.tidalwave.ui.javafx.impl.common.ChangeListenerSelectableAdapter;
 import it.tidalwave.ui.javafx.impl.common.DelegateSupport;
 import it.tidalwave.ui.javafx.impl.common.JavaFXWorker;
 import it.tidalwave.ui.javafx.impl.common.RoleBag;
+import it.tidalwave.ui.javafx.impl.util.LaneExecutor;
 import lombok.extern.slf4j.Slf4j;
 import static javafx.collections.FXCollections.observableArrayList;
 import static javafx.scene.input.KeyCode.*;
@@ -103,8 +104,9 @@ public class ListViewBindings extends DelegateSupport
         final var selectedProperty = listView.getSelectionModel().selectedItemProperty();
         selectedProperty.removeListener(changeListener);
         listView.setItems(observableArrayList()); // quick clear in case of long operations FIXME doesn't work
-        JavaFXWorker.run(executor,
-                         () -> childrenPm(pm),
+        final var lane = LaneExecutor.lane(executor, listView);
+        JavaFXWorker.run(lane,
+                         () -> childrenPm(lane, pm),
                          items -> finalize(listView, items, selectedProperty, callback));
       }
 
@@ -41,6 +41,7 @@ import it.tidalwave.ui.javafx.impl.common.ChangeListenerSelectableAdapter;
 import it.tidalwave.ui.javafx.impl.common.DelegateSupport;
 import it.tidalwave.ui.javafx.impl.common.JavaFXWorker;
 import it.tidalwave.ui.javafx.impl.common.PresentationModelObservable;
+import it.tidalwave.ui.javafx.impl.util.LaneExecutor;
 import lombok.extern.slf4j.Slf4j;
 import static it.tidalwave.ui.javafx.impl.DefaultJavaFXBinder.enforceFxApplicationThread;
 import static it.tidalwave.ui.javafx.impl.common.JavaFXWorker.childrenPm;
@@ -79,8 +80,9 @@ public class TableViewBindings extends DelegateSupport
 
         final var selectedProperty = tableView.getSelectionModel().selectedItemProperty();
         selectedProperty.removeListener(changeListener);
-        JavaFXWorker.run(executor,
-                         () -> childrenPm(pm),
+        final var lane = LaneExecutor.lane(executor, tableView);
+        JavaFXWorker.run(lane,
+                         () -> childrenPm(lane, pm),
                          items -> finalize(tableView, items, selectedProperty, callback));
       }
 
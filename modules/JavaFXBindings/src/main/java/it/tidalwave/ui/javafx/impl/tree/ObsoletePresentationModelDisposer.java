@@ -26,23 +26,92 @@
 package it.tidalwave.ui.javafx.impl.tree;
 
 import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
 import it.tidalwave.ui.core.role.PresentationModel;
+import it.tidalwave.ui.javafx.impl.util.LaneExecutor;
 import lombok.extern.slf4j.Slf4j;
 
 /***************************************************************************************************************************************************************
  *
  * This listener calls {@link PresentationModel#dispose()} on instances that have been detached from a {@link TreeView}.
  *
+ * {@link PresentationModel}s are detached from the obsolete {@link TreeItem}s in the JavaFX thread, walking the tree
+ * iteratively, so that deep trees can't overflow the stack. Then they are disposed by an {@link Executor}, in batches of
+ * bounded size, so that large trees don't freeze the user interface. If the executor is a {@link LaneExecutor}, batches
+ * run in a lane of their own, so they don't delay other tasks, such as user actions. The number of disposed instances
+ * and the time spent are available as metrics.
+ *
  * @author  Fabrizio Giudici
  *
  **************************************************************************************************************************************************************/
 @Slf4j
 public class ObsoletePresentationModelDisposer implements ChangeListener<TreeItem<PresentationModel>>
   {
+    /** The default maximum number of instances disposed by a single task. */
+    public static final int DEFAULT_BATCH_SIZE =
+            Integer.getInteger(ObsoletePresentationModelDisposer.class.getName() + ".batchSize", 256);
+
+    @Nonnull
+    private final Executor executor;
+
+    private final int batchSize;
+
+    private final AtomicLong disposedCount = new AtomicLong();
+
+    private final AtomicLong batchCount = new AtomicLong();
+
+    private final AtomicLong disposalTime = new AtomicLong();
+
+    /***********************************************************************************************************************************************************
+     * Creates an instance that disposes {@link PresentationModel}s in the calling thread.
+     **********************************************************************************************************************************************************/
+    public ObsoletePresentationModelDisposer()
+      {
+        this(Runnable::run);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Creates an instance that disposes {@link PresentationModel}s with the given {@link Executor}, in batches of
+     * {@link #DEFAULT_BATCH_SIZE}.
+     *
+     * @param   executor    the executor
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public ObsoletePresentationModelDisposer (@Nonnull final Executor executor)
+      {
+        this(executor, DEFAULT_BATCH_SIZE);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Creates an instance that disposes {@link PresentationModel}s with the given {@link Executor}.
+     *
+     * @param   executor    the executor
+     * @param   batchSize   the maximum number of instances disposed by a single task
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public ObsoletePresentationModelDisposer (@Nonnull final Executor executor, final int batchSize)
+      {
+        if (batchSize <= 0)
+          {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+          }
+
+        this.executor = LaneExecutor.lane(executor, this);
+        this.batchSize = batchSize;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@inheritDoc}
+     **********************************************************************************************************************************************************/
     @Override
     public void changed (@Nonnull final ObservableValue<? extends TreeItem<PresentationModel>> ov,
                          final TreeItem<PresentationModel> oldTreeItem,
@@ -50,18 +119,121 @@ public class ObsoletePresentationModelDisposer implements ChangeListener<TreeIte
       {
         if (oldTreeItem != null)
           {
-            disposeRecursively(oldTreeItem);
+            dispose(detach(oldTreeItem));
           }
       }
 
-    private void disposeRecursively (@Nonnull final TreeItem<PresentationModel> treeItem)
+    /***********************************************************************************************************************************************************
+     * Disposes {@link PresentationModel}s that are no more in use, in batches.
+     *
+     * @param   pms         the {@code PresentationModel}s
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public void dispose (@Nonnull final List<PresentationModel> pms)
       {
-        treeItem.getValue().dispose();
-        treeItem.setValue(null);
+        if (!pms.isEmpty())
+          {
+            log.debug("Disposing {} obsolete PresentationModels", pms.size());
+
+            for (var from = 0; from < pms.size(); from += batchSize)
+              {
+                final var batch = pms.subList(from, Math.min(from + batchSize, pms.size()));
+                executor.execute(() -> disposeBatch(batch));
+              }
+          }
+      }
 
-        for (final var childTreeItem : treeItem.getChildren())
+    /***********************************************************************************************************************************************************
+     * {@return the number of {@link PresentationModel}s disposed so far}.
+     *
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public long getDisposedCount()
+      {
+        return disposedCount.get();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the number of batches disposed so far}.
+     *
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public long getBatchCount()
+      {
+        return batchCount.get();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the total time spent in disposing {@link PresentationModel}s}.
+     *
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public Duration getDisposalTime()
+      {
+        return Duration.ofNanos(disposalTime.get());
+      }
+
+    /***********************************************************************************************************************************************************
+     * Detaches the {@link PresentationModel}s from a tree of {@link TreeItem}s, without recursion.
+     *
+     * @param   root        the root of the tree
+     * @return              the detached {@code PresentationModel}s
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    private static List<PresentationModel> detach (@Nonnull final TreeItem<PresentationModel> root)
+      {
+        final var pms = new ArrayList<PresentationModel>();
+        final var pending = new ArrayDeque<TreeItem<PresentationModel>>();
+        pending.push(root);
+
+        while (!pending.isEmpty())
           {
-            disposeRecursively(childTreeItem);
+            final var treeItem = pending.pop();
+            final var pm = treeItem.getValue();
+
+            if (pm != null)
+              {
+                pms.add(pm);
+                treeItem.setValue(null);
+              }
+
+            final var children = treeItem.getChildren();
+
+            for (var i = children.size() - 1; i >= 0; i--)
+              {
+                pending.push(children.get(i));
+              }
           }
+
+        return pms;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Disposes a batch of {@link PresentationModel}s. A failure doesn't prevent the others from being disposed.
+     *
+     * @param   pms         the {@code PresentationModel}s
+     **********************************************************************************************************************************************************/
+    private void disposeBatch (@Nonnull final List<PresentationModel> pms)
+      {
+        final var time = System.nanoTime();
+
+        for (final var pm : pms)
+          {
+            try
+              {
+                pm.dispose();
+              }
+            catch (RuntimeException e)
+              {
+                log.error("While disposing " + pm, e);
+              }
+          }
+
+        final var elapsed = System.nanoTime() - time;
+        disposalTime.addAndGet(elapsed);
+        batchCount.incrementAndGet();
+        final var count = disposedCount.addAndGet(pms.size());
+        log.debug(">>>> disposed {} PresentationModels in {} msec ({} so far)", pms.size(), elapsed / 1_000_000, count);
       }
-  }
\ No newline at end of file
+  }
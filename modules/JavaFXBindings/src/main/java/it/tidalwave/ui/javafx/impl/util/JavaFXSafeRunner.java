@@ -25,8 +25,12 @@
  */
 package it.tidalwave.ui.javafx.impl.util;
 
+import javax.annotation.CheckForNull;
 import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
 import javafx.application.Platform;
+import it.tidalwave.ui.core.PropertyBatch;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -66,4 +70,45 @@ public final class JavaFXSafeRunner
             Platform.runLater(guardedRunnable);
           }
       }
+
+    /***********************************************************************************************************************************************************
+     * Runs a task in the JavaFX thread, later. If a {@link PropertyBatch} is in progress in the current thread, tasks are
+     * collected and submitted together at the end of the batch, so the UI is updated in a single pulse.
+     *
+     * @param   runnable    the task
+     **********************************************************************************************************************************************************/
+    public static void runLater (@Nonnull final Runnable runnable)
+      {
+        runLater(null, runnable);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Runs a task in the JavaFX thread, later, by means of the {@link JavaFXUpdateDispatcher}. If a task with the same key
+     * is still pending, it is replaced, so only the latest update for the key is performed. If a {@link PropertyBatch} is
+     * in progress in the current thread, tasks are collected and submitted together at the end of the batch, so the UI is
+     * updated in a single pulse.
+     *
+     * @param   key         the key (compared by identity), or {@code null} if the task must not be merged
+     * @param   runnable    the task
+     * @since   2.0-ALPHA-2
+     **********************************************************************************************************************************************************/
+    public static void runLater (@CheckForNull final Object key, @Nonnull final Runnable runnable)
+      {
+        final var dispatcher = JavaFXUpdateDispatcher.getInstance();
+
+        if (!PropertyBatch.isActive())
+          {
+            dispatcher.submit(key, runnable);
+          }
+        else
+          {
+            final List<Runnable> submissions = PropertyBatch.attachment(JavaFXSafeRunner.class, () ->
+              {
+                final List<Runnable> list = new ArrayList<>();
+                PropertyBatch.onCompletion(() -> list.forEach(Runnable::run));
+                return list;
+              });
+            submissions.add(() -> dispatcher.submit(key, runnable));
+          }
+      }
   }
@@ -0,0 +1,259 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.javafx.impl.util;
+
+import javax.annotation.CheckForNull;
+import jakarta.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import it.tidalwave.util.annotation.VisibleForTesting;
+import lombok.extern.slf4j.Slf4j;
+
+/***************************************************************************************************************************************************************
+ *
+ * A central dispatcher of updates to the user interface, replacing the posting of a {@link Platform#runLater(Runnable)}
+ * per event. Updates are queued and drained by a single task in the JavaFX thread, so a burst of events costs a single
+ * entry in the JavaFX event queue.
+ *
+ * Updates can be submitted with a key, typically the target being updated: if an update for the same key is still
+ * pending, it is replaced by the new one, which keeps the position of the former in the queue. In this way only the
+ * latest value is rendered. Updates without a key are never merged.
+ *
+ * A drain runs updates until the time budget is exhausted; the remaining updates are deferred to a new task, so the
+ * JavaFX thread can render a frame and process input in the meantime. The budget can be set by the system property
+ * {@code it.tidalwave.ui.javafx.impl.util.JavaFXUpdateDispatcher.frameBudget} in milliseconds.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@Slf4j
+public final class JavaFXUpdateDispatcher
+  {
+    private static final Duration DEFAULT_BUDGET =
+            Duration.ofMillis(Long.getLong(JavaFXUpdateDispatcher.class.getName() + ".frameBudget", 8));
+
+    private static final JavaFXUpdateDispatcher INSTANCE = new JavaFXUpdateDispatcher(Platform::runLater, DEFAULT_BUDGET);
+
+    /** A pending update. */
+    private static final class Slot
+      {
+        @CheckForNull
+        private final Object key;
+
+        @Nonnull
+        private Runnable update;
+
+        private Slot (@CheckForNull final Object key, @Nonnull final Runnable update)
+          {
+            this.key = key;
+            this.update = update;
+          }
+      }
+
+    @Nonnull
+    private final Consumer<Runnable> scheduler;
+
+    private final long budget;
+
+    private final ArrayDeque<Slot> queue = new ArrayDeque<>();
+
+    private final Map<Object, Slot> slotsByKey = new IdentityHashMap<>();
+
+    private boolean scheduled;
+
+    private final AtomicLong submittedCount = new AtomicLong();
+
+    private final AtomicLong mergedCount = new AtomicLong();
+
+    private final AtomicLong deferredCount = new AtomicLong();
+
+    private final AtomicLong drainCount = new AtomicLong();
+
+    /***********************************************************************************************************************************************************
+     * Creates an instance.
+     *
+     * @param   scheduler   submits a task to the JavaFX thread
+     * @param   budget      the maximum time spent in a drain
+     **********************************************************************************************************************************************************/
+    @VisibleForTesting JavaFXUpdateDispatcher (@Nonnull final Consumer<Runnable> scheduler, @Nonnull final Duration budget)
+      {
+        this.scheduler = scheduler;
+        this.budget = budget.toNanos();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the shared instance}.
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static JavaFXUpdateDispatcher getInstance()
+      {
+        return INSTANCE;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Submits an update that is never merged with others.
+     *
+     * @param   update      the update
+     **********************************************************************************************************************************************************/
+    public void submit (@Nonnull final Runnable update)
+      {
+        submit(null, update);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Submits an update for the given key, replacing a pending update for the same key. Keys are compared by identity.
+     *
+     * @param   key         the key, or {@code null} if the update must not be merged
+     * @param   update      the update
+     **********************************************************************************************************************************************************/
+    public void submit (@CheckForNull final Object key, @Nonnull final Runnable update)
+      {
+        submittedCount.incrementAndGet();
+
+        synchronized (this)
+          {
+            final var slot = (key == null) ? null : slotsByKey.get(key);
+
+            if (slot != null)
+              {
+                slot.update = update;
+                mergedCount.incrementAndGet();
+                return;
+              }
+
+            final var newSlot = new Slot(key, update);
+            queue.add(newSlot);
+
+            if (key != null)
+              {
+                slotsByKey.put(key, newSlot);
+              }
+
+            if (scheduled)
+              {
+                return;
+              }
+
+            scheduled = true;
+          }
+
+        scheduler.accept(this::drain);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the number of pending updates}.
+     **********************************************************************************************************************************************************/
+    public synchronized int getQueueDepth()
+      {
+        return queue.size();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the number of submitted updates}.
+     **********************************************************************************************************************************************************/
+    public long getSubmittedCount()
+      {
+        return submittedCount.get();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the number of updates that have been dropped because merged with a later one for the same key}.
+     **********************************************************************************************************************************************************/
+    public long getMergedCount()
+      {
+        return mergedCount.get();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the number of times a drain exhausted the budget and deferred the remaining updates}.
+     **********************************************************************************************************************************************************/
+    public long getDeferredCount()
+      {
+        return deferredCount.get();
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the number of drains}, that is the number of tasks posted to the JavaFX thread.
+     **********************************************************************************************************************************************************/
+    public long getDrainCount()
+      {
+        return drainCount.get();
+      }
+
+    /***********************************************************************************************************************************************************
+     * Runs pending updates within the budget. At least an update is run, so progress is guaranteed even when a single
+     * update exceeds the budget.
+     **********************************************************************************************************************************************************/
+    @VisibleForTesting void drain()
+      {
+        drainCount.incrementAndGet();
+        final var start = System.nanoTime();
+
+        for (var executed = 0; ; executed++)
+          {
+            final Slot slot;
+
+            synchronized (this)
+              {
+                if (queue.isEmpty())
+                  {
+                    scheduled = false;
+                    return;
+                  }
+
+                if ((executed > 0) && (System.nanoTime() - start >= budget))
+                  {
+                    break;
+                  }
+
+                slot = queue.poll();
+
+                if (slot.key != null)
+                  {
+                    slotsByKey.remove(slot.key);
+                  }
+              }
+
+            try
+              {
+                slot.update.run();
+              }
+            catch (RuntimeException e)
+              {
+                log.error("While running UI update", e);
+              }
+          }
+
+        deferredCount.incrementAndGet();
+        scheduler.accept(this::drain);
+      }
+  }
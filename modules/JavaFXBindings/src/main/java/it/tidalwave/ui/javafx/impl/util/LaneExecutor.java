@@ -0,0 +1,243 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.javafx.impl.util;
+
+import jakarta.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+
+/***************************************************************************************************************************************************************
+ *
+ * An {@link Executor} that runs tasks in <i>lanes</i> over a delegate, possibly parallel, executor. Tasks submitted with
+ * the same key are run one at a time in FIFO order; tasks with different keys can run in parallel. Tasks submitted by
+ * {@link #execute(Runnable)} all go to the same default lane, so they are serialised as with a single-thread executor.
+ *
+ * Keys are typically views or controls, so a slow operation in a view doesn't stall other views. A lane only exists
+ * while it has pending tasks, so keys are not retained once their tasks have completed. After each task the lane is
+ * rescheduled on the delegate, so a busy lane doesn't starve the others.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@Slf4j
+public final class LaneExecutor implements Executor
+  {
+    private static final Object DEFAULT_LANE = new Object();
+
+    /** A queue of tasks for a key. */
+    private final class Lane implements Runnable
+      {
+        @Nonnull
+        private final Object key;
+
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        private boolean scheduled;
+
+        private boolean retired;
+
+        private Lane (@Nonnull final Object key)
+          {
+            this.key = key;
+          }
+
+        /*******************************************************************************************************************************************************
+         * Enqueues a task, scheduling this lane if it's idle.
+         *
+         * @return  {@code false} if this lane has been retired and can't accept tasks
+         ******************************************************************************************************************************************************/
+        private boolean offer (@Nonnull final Runnable task)
+          {
+            synchronized (this)
+              {
+                if (retired)
+                  {
+                    return false;
+                  }
+
+                tasks.add(task);
+
+                if (scheduled)
+                  {
+                    return true;
+                  }
+
+                scheduled = true;
+              }
+
+            schedule();
+            return true;
+          }
+
+        /*******************************************************************************************************************************************************
+         * Runs the next task, then reschedules this lane or retires it if there are no more tasks.
+         ******************************************************************************************************************************************************/
+        @Override
+        public void run()
+          {
+            final Runnable task;
+
+            synchronized (this)
+              {
+                task = tasks.poll();
+              }
+
+            try
+              {
+                if (task != null)
+                  {
+                    task.run();
+                  }
+              }
+            catch (RuntimeException e)
+              {
+                log.error("While running task in lane " + key, e);
+              }
+            finally
+              {
+                final boolean more;
+
+                synchronized (this)
+                  {
+                    more = !tasks.isEmpty();
+
+                    if (!more)
+                      {
+                        scheduled = false;
+                        retired = true;
+                        lanes.remove(key, this);
+                      }
+                  }
+
+                if (more)
+                  {
+                    schedule();
+                  }
+              }
+          }
+
+        /*******************************************************************************************************************************************************
+         *
+         ******************************************************************************************************************************************************/
+        private void schedule()
+          {
+            try
+              {
+                delegate.execute(this);
+              }
+            catch (RejectedExecutionException e)
+              {
+                synchronized (this)
+                  {
+                    log.error("Dropping {} tasks in lane {}: {}", tasks.size(), key, e.getMessage());
+                    tasks.clear();
+                    scheduled = false;
+                    retired = true;
+                    lanes.remove(key, this);
+                  }
+
+                throw e;
+              }
+          }
+      }
+
+    @Nonnull
+    private final Executor delegate;
+
+    private final Map<Object, Lane> lanes = new ConcurrentHashMap<>();
+
+    /***********************************************************************************************************************************************************
+     * Creates an instance.
+     *
+     * @param   delegate    the executor that actually runs tasks
+     **********************************************************************************************************************************************************/
+    public LaneExecutor (@Nonnull final Executor delegate)
+      {
+        this.delegate = delegate;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Runs a task in the default lane.
+     *
+     * @param   task        the task
+     **********************************************************************************************************************************************************/
+    @Override
+    public void execute (@Nonnull final Runnable task)
+      {
+        execute(DEFAULT_LANE, task);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Runs a task in the lane of the given key.
+     *
+     * @param   key         the key
+     * @param   task        the task
+     **********************************************************************************************************************************************************/
+    public void execute (@Nonnull final Object key, @Nonnull final Runnable task)
+      {
+        while (!lanes.computeIfAbsent(key, Lane::new).offer(task))
+          {
+            // the lane was retired in the meantime, try again with a new one
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return an {@link Executor} that runs tasks in the lane of the given key}.
+     *
+     * @param   key         the key
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public Executor lane (@Nonnull final Object key)
+      {
+        return task -> execute(key, task);
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return an {@link Executor} that runs tasks in the lane of the given key}, if the given executor is a
+     * {@code LaneExecutor}; otherwise the executor itself.
+     *
+     * @param   executor    the executor
+     * @param   key         the key
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static Executor lane (@Nonnull final Executor executor, @Nonnull final Object key)
+      {
+        return (executor instanceof LaneExecutor) ? ((LaneExecutor)executor).lane(key) : executor;
+      }
+
+    /***********************************************************************************************************************************************************
+     * {@return the number of lanes with pending or running tasks}.
+     **********************************************************************************************************************************************************/
+    public int getActiveLaneCount()
+      {
+        return lanes.size();
+      }
+  }
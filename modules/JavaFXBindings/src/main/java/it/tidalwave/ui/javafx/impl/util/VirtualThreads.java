@@ -0,0 +1,69 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.javafx.impl.util;
+
+import jakarta.annotation.Nonnull;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/***************************************************************************************************************************************************************
+ *
+ * Support for virtual threads, which are looked up by reflection, since they are not available in all the runtimes
+ * supported by SteelBlue.
+ *
+ * @since   2.0-ALPHA-2
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@UtilityClass @Slf4j
+public class VirtualThreads
+  {
+    /***********************************************************************************************************************************************************
+     * {@return an executor that runs each task in a new virtual thread}, if supported by the runtime.
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor()
+      {
+        try
+          {
+            final var method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Optional.of((ExecutorService)method.invoke(null));
+          }
+        catch (NoSuchMethodException e)
+          {
+            log.warn("Virtual threads are not supported by this runtime: {}", System.getProperty("java.version"));
+          }
+        catch (ReflectiveOperationException | RuntimeException e)
+          {
+            log.warn("Can't create a virtual thread executor", e);
+          }
+
+        return Optional.empty();
+      }
+  }
@@ -0,0 +1,229 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.javafx.impl;
+
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import javafx.scene.Scene;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.MenuItem;
+import javafx.scene.input.ContextMenuEvent;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import it.tidalwave.util.As;
+import it.tidalwave.util.ContextManager;
+import it.tidalwave.role.impl.DefaultContextManagerProvider;
+import it.tidalwave.role.spi.SystemRoleFactory;
+import it.tidalwave.ui.core.role.Displayable;
+import it.tidalwave.ui.core.role.PresentationModel;
+import it.tidalwave.ui.core.role.UserAction;
+import it.tidalwave.ui.core.role.UserActionProvider;
+import it.tidalwave.ui.core.role.spi.DefaultUserActionProvider;
+import it.tidalwave.ui.javafx.impl.common.DefaultCellBinder;
+import it.tidalwave.ui.javafx.impl.common.RoleBag;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import static org.mockito.Mockito.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * Tests the context menu handler installed by {@link DefaultCellBinder}. Items are bound with {@link RoleBag}s already
+ * in the cache, so binding is synchronous.
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+@Test(groups = "no-ci")
+public class DefaultCellBinderContextMenuTest extends TestNGApplicationTest
+  {
+    private ListCell<As> cell;
+
+    private DefaultCellBinder underTest;
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @BeforeMethod
+    public void setup()
+      {
+        SystemRoleFactory.reset();
+        ContextManager.set(new DefaultContextManagerProvider());
+        underTest = new DefaultCellBinder(Runnable::run);
+      }
+
+    /***********************************************************************************************************************************************************
+     * Prepares the {@link Stage} for the test.
+     **********************************************************************************************************************************************************/
+    @Override
+    public void start (@Nonnull final Stage stage)
+      {
+        cell = new ListCell<>();
+        stage.setScene(new Scene(new StackPane(cell), 100, 100));
+        stage.show();
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test(groups = "no-ci")
+    public void must_not_install_a_handler_without_UserActionProvider()
+      {
+        // given
+        final var item = itemWith(new RoleBag());
+        // when
+        interact(() -> underTest.bind(cell, item, false));
+        // then
+        assertThat(cell.getOnContextMenuRequested(), is(nullValue()));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test(groups = "no-ci")
+    public void must_populate_the_context_menu_on_request()
+      {
+        // given
+        final var item = itemWith(roleBagWithActions("A", "B"));
+        interact(() -> underTest.bind(cell, item, false));
+        // when
+        final var contextMenu = requestContextMenu();
+        // then
+        assertThat(textsOf(contextMenu.getItems()), is(List.of("A", "B")));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test(groups = "no-ci")
+    public void must_recycle_the_context_menu_and_its_items_across_rebinds()
+      {
+        // given
+        final var item1 = itemWith(roleBagWithActions("A", "B", "C"));
+        final var item2 = itemWith(roleBagWithActions("X", "Y"));
+        interact(() -> underTest.bind(cell, item1, false));
+        final var contextMenu1 = requestContextMenu();
+        final var items1 = List.copyOf(contextMenu1.getItems());
+        // when
+        interact(() -> underTest.bind(cell, item2, false));
+        final var contextMenu2 = requestContextMenu();
+        // then
+        assertThat(contextMenu2, is(sameInstance(contextMenu1)));
+        assertThat(textsOf(contextMenu2.getItems()), is(List.of("X", "Y")));
+        assertThat(contextMenu2.getItems().get(0), is(sameInstance(items1.get(0))));
+        assertThat(contextMenu2.getItems().get(1), is(sameInstance(items1.get(1))));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test(groups = "no-ci")
+    public void must_remove_the_handler_when_rebound_without_UserActionProvider()
+      {
+        // given
+        final var item1 = itemWith(roleBagWithActions("A"));
+        final var item2 = itemWith(new RoleBag());
+        interact(() -> underTest.bind(cell, item1, false));
+        // when
+        interact(() -> underTest.bind(cell, item2, false));
+        // then
+        assertThat(cell.getOnContextMenuRequested(), is(nullValue()));
+      }
+
+    /***********************************************************************************************************************************************************
+     * Fires a context menu request to the cell and returns the shown {@link ContextMenu}, after hiding it.
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    private ContextMenu requestContextMenu()
+      {
+        final var handler = cell.getOnContextMenuRequested();
+        assertThat(handler, is(notNullValue()));
+        final var event = new ContextMenuEvent(ContextMenuEvent.CONTEXT_MENU_REQUESTED, 0, 0, 0, 0, false, null);
+        interact(() -> handler.handle(event));
+        assertThat(event.isConsumed(), is(true));
+        final var contextMenu = cell.getProperties().values()
+                                    .stream()
+                                    .filter(ContextMenu.class::isInstance)
+                                    .map(ContextMenu.class::cast)
+                                    .findFirst()
+                                    .orElseThrow();
+        interact(contextMenu::hide);
+        return contextMenu;
+      }
+
+    /***********************************************************************************************************************************************************
+     * Creates an item whose {@link RoleBag} is already in the cache.
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    private PresentationModel itemWith (@Nonnull final RoleBag roleBag)
+      {
+        final var item = mock(PresentationModel.class);
+        underTest.getRoleBagCache().get(item, () -> roleBag);
+        return item;
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    private static RoleBag roleBagWithActions (@Nonnull final String ... names)
+      {
+        final List<UserAction> actions = new ArrayList<>();
+
+        for (final var name : names)
+          {
+            actions.add(UserAction.of(() -> {}, Displayable.of(name)));
+          }
+
+        final UserActionProvider userActionProvider = new DefaultUserActionProvider()
+          {
+            @Override @Nonnull
+            public Collection<? extends UserAction> getActions()
+              {
+                return actions;
+              }
+          };
+
+        final var roleBag = new RoleBag();
+        roleBag.put(UserActionProvider.class, userActionProvider);
+        return roleBag;
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Nonnull
+    private static List<String> textsOf (@Nonnull final List<MenuItem> menuItems)
+      {
+        final List<String> texts = new ArrayList<>();
+        menuItems.forEach(menuItem -> texts.add(menuItem.getText()));
+        return texts;
+      }
+  }
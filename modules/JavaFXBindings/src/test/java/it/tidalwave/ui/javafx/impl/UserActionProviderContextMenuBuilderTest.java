@@ -34,6 +34,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import javafx.event.ActionEvent;
+import javafx.scene.control.MenuItem;
 import javafx.application.Platform;
 import it.tidalwave.util.ContextManager;
 import it.tidalwave.role.impl.DefaultContextManagerProvider;
@@ -136,10 +137,11 @@ public class UserActionProviderContextMenuBuilderTest
      *
      **********************************************************************************************************************************************************/
     @Test
-    public void must_return_empty_list_when_UserActionProvider_is_not_present()
+    public void must_populate_no_items_when_UserActionProvider_is_not_present()
       {
         // when
-        final var menuItems = underTest.createMenuItems(roleMapWithoutUserActionProvider);
+        final List<MenuItem> menuItems = new ArrayList<>();
+        underTest.populateMenuItems(menuItems, roleMapWithoutUserActionProvider);
         // then
         assertThat(menuItems, is(notNullValue()));
         assertThat(menuItems.isEmpty(), is(true));
@@ -152,7 +154,8 @@ public class UserActionProviderContextMenuBuilderTest
     public void must_set_the_MenuItem_text_from_UserAction_Displayable()
       {
         // when
-        final var menuItems = underTest.createMenuItems(roleMapWithUserActionProvider);
+        final List<MenuItem> menuItems = new ArrayList<>();
+        underTest.populateMenuItems(menuItems, roleMapWithUserActionProvider);
         // then
         assertThat(menuItems, is(not(nullValue())));
         assertThat(menuItems.size(), is(actions.size()));
@@ -173,7 +176,8 @@ public class UserActionProviderContextMenuBuilderTest
       throws InterruptedException
       {
         // when
-        final var menuItems = underTest.createMenuItems(roleMapWithUserActionProvider);
+        final List<MenuItem> menuItems = new ArrayList<>();
+        underTest.populateMenuItems(menuItems, roleMapWithUserActionProvider);
         // then
         assertThat(menuItems, is(not(nullValue())));
         assertThat(menuItems.size(), is(actions.size()));
@@ -197,4 +201,72 @@ public class UserActionProviderContextMenuBuilderTest
             throw executorService.assertionErrors.get(0);
           }
       }
-  }
\ No newline at end of file
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_reuse_existing_MenuItems_and_remove_the_exceeding_ones()
+      {
+        // given
+        final List<MenuItem> menuItems = new ArrayList<>();
+        underTest.populateMenuItems(menuItems, roleMapWithUserActionProvider);
+        final var previousItems = List.copyOf(menuItems);
+        actions.subList(3, actions.size()).clear();
+        actions.set(1, UserAction.of(this::checkThread, Displayable.of("Replaced action")));
+        // when
+        underTest.populateMenuItems(menuItems, roleMapWithUserActionProvider);
+        // then
+        assertThat(menuItems.size(), is(3));
+
+        for (var i = 0; i < menuItems.size(); i++)
+          {
+            assertThat(menuItems.get(i), is(sameInstance(previousItems.get(i))));
+          }
+
+        assertThat(menuItems.get(0).getText(), is("Action #0"));
+        assertThat(menuItems.get(1).getText(), is("Replaced action"));
+        assertThat(menuItems.get(2).getText(), is("Action #2"));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_add_MenuItems_for_new_actions()
+      {
+        // given
+        final List<MenuItem> menuItems = new ArrayList<>();
+        final var allActions = List.copyOf(actions);
+        actions.subList(2, actions.size()).clear();
+        underTest.populateMenuItems(menuItems, roleMapWithUserActionProvider);
+        final var previousItems = List.copyOf(menuItems);
+        actions.clear();
+        actions.addAll(allActions);
+        // when
+        underTest.populateMenuItems(menuItems, roleMapWithUserActionProvider);
+        // then
+        assertThat(menuItems.size(), is(allActions.size()));
+        assertThat(menuItems.subList(0, 2), is(previousItems));
+
+        for (var i = 0; i < menuItems.size(); i++)
+          {
+            assertThat(menuItems.get(i).getText(), is("Action #" + i));
+          }
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_clear_MenuItems_when_UserActionProvider_is_not_present()
+      {
+        // given
+        final List<MenuItem> menuItems = new ArrayList<>();
+        underTest.populateMenuItems(menuItems, roleMapWithUserActionProvider);
+        // when
+        underTest.populateMenuItems(menuItems, roleMapWithoutUserActionProvider);
+        // then
+        assertThat(menuItems.isEmpty(), is(true));
+      }
+  }
@@ -0,0 +1,246 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.javafx.impl.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import it.tidalwave.ui.core.role.PresentationModel;
+import org.testng.annotations.Test;
+import static org.mockito.Mockito.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class ChildrenDiffTest
+  {
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_match_by_equality_pairing_duplicates_in_order()
+      {
+        // given
+        final var oldKeys = List.of("a", "b", "c", "b");
+        final var newKeys = List.of("b", "d", "a", "b", "b");
+        // when
+        final var actual = ChildrenDiff.match(oldKeys, newKeys);
+        // then
+        assertThat(Arrays.toString(actual), is(Arrays.toString(new int[] { 1, -1, 0, 3, -1 })));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_use_owner_as_key_when_available()
+      {
+        // given
+        final var owner = new Object();
+        final var pm1 = mock(PresentationModel.class);
+        final var pm2 = mock(PresentationModel.class);
+        final var pm3 = mock(PresentationModel.class);
+        when(pm1.maybeOwner()).thenReturn(Optional.of(owner));
+        when(pm2.maybeOwner()).thenReturn(Optional.of(owner));
+        when(pm3.maybeOwner()).thenReturn(Optional.empty());
+        // when
+        final var key1 = ChildrenDiff.keyOf(pm1);
+        final var key2 = ChildrenDiff.keyOf(pm2);
+        final var key3 = ChildrenDiff.keyOf(pm3);
+        // then
+        assertThat(key1, is(sameInstance(owner)));
+        assertThat(key2, is(sameInstance(owner)));
+        assertThat(key3, is(sameInstance(pm3)));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_apply_minimal_changes()
+      {
+        // given
+        final var a = new StringBuilder("a");
+        final var b = new StringBuilder("b");
+        final var c = new StringBuilder("c");
+        final var d = new StringBuilder("d");
+        final var e = new StringBuilder("e");
+        final var target = FXCollections.<StringBuilder>observableArrayList(a, b, c, d);
+        final List<String> changes = new ArrayList<>();
+        target.addListener((ListChangeListener<StringBuilder>)change -> changes.add(change.toString()));
+        // when
+        ChildrenDiff.apply(target, List.of(a, c, e, d));
+        // then
+        assertThat(target, is(List.of(a, c, e, d)));
+        assertThat(changes.size(), is(2)); // one removal, one insertion
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_move_existing_items_and_append_trailing_ones_at_once()
+      {
+        // given
+        final var a = new StringBuilder("a");
+        final var b = new StringBuilder("b");
+        final var c = new StringBuilder("c");
+        final var d = new StringBuilder("d");
+        final var e = new StringBuilder("e");
+        final var target = new ArrayList<>(List.of(a, b, c));
+        // when
+        ChildrenDiff.apply(target, List.of(c, a, b, d, e));
+        // then
+        assertThat(target, is(List.of(c, a, b, d, e)));
+        assertThat(target.get(0), is(sameInstance(c)));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_not_change_anything_when_lists_are_the_same()
+      {
+        // given
+        final var a = new StringBuilder("a");
+        final var b = new StringBuilder("b");
+        final var target = FXCollections.<StringBuilder>observableArrayList(a, b);
+        final List<String> changes = new ArrayList<>();
+        target.addListener((ListChangeListener<StringBuilder>)change -> changes.add(change.toString()));
+        // when
+        ChildrenDiff.apply(target, List.of(a, b));
+        // then
+        assertThat(changes.isEmpty(), is(true));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_count_moves_and_insertions()
+      {
+        // given
+        final var a = new StringBuilder("a");
+        final var b = new StringBuilder("b");
+        final var c = new StringBuilder("c");
+        final var d = new StringBuilder("d");
+        final var x = new StringBuilder("x");
+        final var current = List.of(a, b, c, d);
+        // when
+        final var unchanged = ChildrenDiff.countIndividualChanges(current, List.of(a, b, c, d));
+        final var oneMove = ChildrenDiff.countIndividualChanges(current, List.of(d, a, b, c));
+        final var reversed = ChildrenDiff.countIndividualChanges(current, List.of(d, c, b, a));
+        final var oneInsertion = ChildrenDiff.countIndividualChanges(current, List.of(a, x, b, c, d));
+        // then
+        assertThat(unchanged, is(0));
+        assertThat(oneMove, is(1));
+        assertThat(reversed, is(3));
+        assertThat(oneInsertion, is(1));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_replace_the_whole_list_at_once_when_there_are_many_moves()
+      {
+        // given
+        final List<StringBuilder> items = new ArrayList<>();
+
+        for (var i = 0; i < 1000; i++)
+          {
+            items.add(new StringBuilder("" + i));
+          }
+
+        final var target = FXCollections.observableArrayList(items);
+        final List<String> changes = new ArrayList<>();
+        target.addListener((ListChangeListener<StringBuilder>)change -> changes.add(change.toString()));
+        final var desired = new ArrayList<>(items);
+        Collections.reverse(desired);
+        // when
+        ChildrenDiff.apply(target, desired);
+        // then
+        assertThat(target, is(desired));
+        assertThat(changes.size(), is(1));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_move_the_first_item_of_a_large_list_to_the_end_with_two_changes()
+      {
+        // given
+        final List<StringBuilder> items = new ArrayList<>();
+
+        for (var i = 0; i < 1000; i++)
+          {
+            items.add(new StringBuilder("" + i));
+          }
+
+        final var target = FXCollections.observableArrayList(items);
+        final List<String> changes = new ArrayList<>();
+        target.addListener((ListChangeListener<StringBuilder>)change -> changes.add(change.toString()));
+        final var desired = new ArrayList<>(items);
+        desired.add(desired.remove(0));
+        // when
+        ChildrenDiff.apply(target, desired);
+        // then
+        assertThat(target, is(desired));
+        assertThat(target.get(999), is(sameInstance(items.get(0))));
+        assertThat(changes.size(), is(2)); // one removal, one insertion
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_move_items_out_of_order_with_one_removal_and_one_insertion_each()
+      {
+        // given
+        final var a = new StringBuilder("a");
+        final var b = new StringBuilder("b");
+        final var c = new StringBuilder("c");
+        final var d = new StringBuilder("d");
+        final var e = new StringBuilder("e");
+        final var target = FXCollections.<StringBuilder>observableArrayList(a, b, c, d, e);
+        final List<String> changes = new ArrayList<>();
+        target.addListener((ListChangeListener<StringBuilder>)change -> changes.add(change.toString()));
+        // when
+        ChildrenDiff.apply(target, List.of(b, a, c, e, d));
+        // then
+        assertThat(target, is(List.of(b, a, c, e, d)));
+        assertThat(changes.size(), is(3)); // one removal, two insertions
+      }
+  }
@@ -0,0 +1,170 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.javafx.impl.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import it.tidalwave.util.ContextManager;
+import it.tidalwave.role.impl.DefaultContextManagerProvider;
+import it.tidalwave.role.spi.SystemRoleFactory;
+import it.tidalwave.ui.core.role.Displayable;
+import it.tidalwave.ui.core.role.PresentationModel;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static it.tidalwave.ui.core.role.Displayable._Displayable_;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class DefaultCellBinderTest
+  {
+    private List<Runnable> backgroundTasks;
+
+    private List<Runnable> javaFxTasks;
+
+    private List<RoleBag> bound;
+
+    private AtomicLong generationCounter;
+
+    private DefaultCellBinder underTest;
+
+    private final Object lane = new Object();
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @BeforeMethod
+    public void setup()
+      {
+        SystemRoleFactory.reset();
+        ContextManager.set(new DefaultContextManagerProvider());
+        backgroundTasks = new ArrayList<>();
+        javaFxTasks = new ArrayList<>();
+        bound = new ArrayList<>();
+        generationCounter = new AtomicLong();
+        underTest = new DefaultCellBinder(backgroundTasks::add, javaFxTasks::add);
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_bind_the_RoleBag_of_the_current_generation()
+      {
+        // given
+        final var item = PresentationModel.of(new Object(), Displayable.of("item"));
+        generationCounter.incrementAndGet();
+        // when
+        underTest.bindInBackground(lane, item, generationCounter, bound::add);
+        runAll(backgroundTasks);
+        runAll(javaFxTasks);
+        // then
+        assertThat(bound.size(), is(1));
+        assertThat(bound.get(0).get(_Displayable_).get().getDisplayName(), is("item"));
+        assertThat(underTest.getCancelledCount(), is(0L));
+        assertThat(underTest.getDiscardedCount(), is(0L));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_cancel_a_job_when_the_cell_is_bound_again_before_it_runs()
+      {
+        // given
+        final var item = PresentationModel.of(new Object(), Displayable.of("item"));
+        generationCounter.incrementAndGet();
+        underTest.bindInBackground(lane, item, generationCounter, bound::add);
+        // when
+        generationCounter.incrementAndGet();
+        runAll(backgroundTasks);
+        runAll(javaFxTasks);
+        // then
+        assertThat(bound, is(List.of()));
+        assertThat(underTest.getCancelledCount(), is(1L));
+        assertThat(underTest.getDiscardedCount(), is(0L));
+        assertThat(underTest.getRoleBagCache().getIfPresent(item).isPresent(), is(false));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_discard_the_result_when_the_cell_is_bound_again_before_it_is_applied()
+      {
+        // given
+        final var item = PresentationModel.of(new Object(), Displayable.of("item"));
+        generationCounter.incrementAndGet();
+        underTest.bindInBackground(lane, item, generationCounter, bound::add);
+        runAll(backgroundTasks);
+        // when
+        generationCounter.incrementAndGet();
+        runAll(javaFxTasks);
+        // then
+        assertThat(bound, is(List.of()));
+        assertThat(underTest.getCancelledCount(), is(0L));
+        assertThat(underTest.getDiscardedCount(), is(1L));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_never_apply_a_stale_RoleBag()
+      {
+        // given
+        final var staleItem = PresentationModel.of(new Object(), Displayable.of("stale"));
+        final var currentItem = PresentationModel.of(new Object(), Displayable.of("current"));
+        generationCounter.incrementAndGet();
+        underTest.bindInBackground(lane, staleItem, generationCounter, bound::add);
+        runAll(backgroundTasks);
+        // when
+        generationCounter.incrementAndGet();
+        underTest.bindInBackground(lane, currentItem, generationCounter, bound::add);
+        runAll(backgroundTasks);
+        runAll(javaFxTasks);
+        // then
+        assertThat(bound.size(), is(1));
+        assertThat(bound.get(0).get(_Displayable_).get().getDisplayName(), is("current"));
+        assertThat(underTest.getDiscardedCount(), is(1L));
+      }
+
+    /***********************************************************************************************************************************************************
+     * Runs the queued tasks, including the ones queued in the meantime.
+     **********************************************************************************************************************************************************/
+    private static void runAll (final List<Runnable> tasks)
+      {
+        while (!tasks.isEmpty())
+          {
+            tasks.remove(0).run();
+          }
+      }
+  }
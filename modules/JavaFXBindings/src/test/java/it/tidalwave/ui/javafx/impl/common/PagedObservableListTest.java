@@ -0,0 +1,157 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.javafx.impl.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import it.tidalwave.util.Finder;
+import it.tidalwave.role.SimpleComposite;
+import it.tidalwave.role.spi.SystemRoleFactory;
+import it.tidalwave.ui.core.role.PresentationModel;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import static org.mockito.Mockito.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class PagedObservableListTest
+  {
+    private static final int PAGE_SIZE = 10;
+
+    private static final int MAX_PAGES = 4;
+
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+
+    private List<PresentationModel> pms;
+
+    private PagedObservableList underTest;
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @BeforeMethod
+    public void setup()
+      {
+        SystemRoleFactory.reset();
+        pendingTasks.clear();
+        pms = new ArrayList<>();
+
+        for (var i = 0; i < 1000; i++)
+          {
+            pms.add(mock(PresentationModel.class));
+          }
+
+        final var finder = SimpleComposite.ofCloned(pms).findChildren();
+        // background tasks are only run when a test explicitly does, and finalizers are run immediately
+        underTest = new PagedObservableList(pendingTasks::add, finder, pms.size(), pms.subList(0, 25), PAGE_SIZE, MAX_PAGES,
+                                            Runnable::run);
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_return_items_from_the_first_items()
+      {
+        // when
+        final var item = underTest.get(15);
+        // then
+        assertThat(underTest.size(), is(1000));
+        assertThat(item, is(sameInstance(pms.get(15))));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_return_a_placeholder_and_fetch_missing_pages_only_once()
+      {
+        // when
+        final var item1 = underTest.get(505);
+        final var item2 = underTest.get(507);
+        // then
+        assertThat(item1, is(not(sameInstance(pms.get(505)))));
+        assertThat(item2, is(sameInstance(item1)));
+        assertThat(pendingTasks.size(), is(3)); // page 50 and its neighbours
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_fetch_again_a_page_whose_retrieval_failed()
+      {
+        // given
+        final Finder<PresentationModel> finder = mock(Finder.class);
+        when(finder.from(anyInt())).thenReturn(finder);
+        when(finder.max(anyInt())).thenReturn(finder);
+        when(finder.results()).thenThrow(new IllegalStateException("failure"));
+        underTest = new PagedObservableList(pendingTasks::add, finder, pms.size(), List.of(), PAGE_SIZE, MAX_PAGES, Runnable::run);
+        underTest.get(505);
+        final var tasks = new ArrayList<>(pendingTasks);
+        pendingTasks.clear();
+        tasks.forEach(Runnable::run);
+        // when
+        final var item = underTest.get(505);
+        // then
+        assertThat(item, is(not(sameInstance(pms.get(505)))));
+        assertThat(pendingTasks.size(), is(3)); // page 50 and its neighbours, again
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_search_only_retrieved_pages()
+      {
+        // when
+        final var index1 = underTest.indexOf(pms.get(15));
+        final var index2 = underTest.lastIndexOf(pms.get(15));
+        final var index3 = underTest.indexOf(pms.get(505));
+        final var contains = underTest.contains(pms.get(505));
+        // then
+        assertThat(index1, is(15));
+        assertThat(index2, is(15));
+        assertThat(index3, is(-1));
+        assertThat(contains, is(false));
+        assertThat(pendingTasks.size(), is(0));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void must_reject_indexes_out_of_bounds()
+      {
+        // when
+        underTest.get(1000);
+      }
+  }
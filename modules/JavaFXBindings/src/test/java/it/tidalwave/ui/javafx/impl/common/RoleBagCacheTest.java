@@ -0,0 +1,154 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.javafx.impl.common;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.concurrent.atomic.AtomicInteger;
+import it.tidalwave.util.As;
+import it.tidalwave.ui.core.role.PresentationModel;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import static org.mockito.Mockito.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class RoleBagCacheTest
+  {
+    private AtomicInteger created;
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @BeforeMethod
+    public void setup()
+      {
+        created = new AtomicInteger();
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_compute_a_role_bag_only_once_per_presentation_model()
+      {
+        // given
+        final var underTest = new RoleBagCache(10);
+        final var pm = mock(PresentationModel.class);
+        // when
+        final var first = underTest.get(pm, this::createRoleBag);
+        final var second = underTest.get(pm, this::createRoleBag);
+        final var third = underTest.getIfPresent(pm);
+        // then
+        assertThat(second, is(sameInstance(first)));
+        assertThat(third.orElseThrow(), is(sameInstance(first)));
+        assertThat(created.get(), is(1));
+        assertThat(underTest.getMissCount(), is(1L));
+        assertThat(underTest.getHitCount(), is(2L));
+        verify(pm, times(1)).addPropertyChangeListener(any(PropertyChangeListener.class));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_invalidate_the_entry_when_the_presentation_model_fires_a_change()
+      {
+        // given
+        final var underTest = new RoleBagCache(10);
+        final var pm = mock(PresentationModel.class);
+        final var first = underTest.get(pm, this::createRoleBag);
+        final var captor = ArgumentCaptor.forClass(PropertyChangeListener.class);
+        verify(pm).addPropertyChangeListener(captor.capture());
+        // when
+        captor.getValue().propertyChange(new PropertyChangeEvent(pm, "foo", 1, 2));
+        // then
+        assertThat(underTest.getIfPresent(pm).isPresent(), is(false));
+        assertThat(underTest.getInvalidationCount(), is(1L));
+        verify(pm).removePropertyChangeListener(captor.getValue());
+        final var second = underTest.get(pm, this::createRoleBag);
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(created.get(), is(2));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_evict_the_least_recently_used_entry_when_full()
+      {
+        // given
+        final var underTest = new RoleBagCache(2);
+        final var pm1 = mock(PresentationModel.class);
+        final var pm2 = mock(PresentationModel.class);
+        final var pm3 = mock(PresentationModel.class);
+        underTest.get(pm1, this::createRoleBag);
+        underTest.get(pm2, this::createRoleBag);
+        underTest.getIfPresent(pm1);
+        // when
+        underTest.get(pm3, this::createRoleBag);
+        // then
+        assertThat(underTest.size(), is(2));
+        assertThat(underTest.getEvictionCount(), is(1L));
+        assertThat(underTest.getIfPresent(pm1).isPresent(), is(true));
+        assertThat(underTest.getIfPresent(pm2).isPresent(), is(false));
+        assertThat(underTest.getIfPresent(pm3).isPresent(), is(true));
+        verify(pm2).removePropertyChangeListener(any(PropertyChangeListener.class));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_not_cache_items_that_are_not_presentation_models()
+      {
+        // given
+        final var underTest = new RoleBagCache(10);
+        final var item = mock(As.class);
+        // when
+        underTest.get(item, this::createRoleBag);
+        underTest.get(item, this::createRoleBag);
+        // then
+        assertThat(created.get(), is(2));
+        assertThat(underTest.size(), is(0));
+        assertThat(underTest.getIfPresent(item).isPresent(), is(false));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    private RoleBag createRoleBag()
+      {
+        created.incrementAndGet();
+        return new RoleBag();
+      }
+  }
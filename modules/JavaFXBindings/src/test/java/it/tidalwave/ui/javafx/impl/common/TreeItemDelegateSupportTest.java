@@ -0,0 +1,130 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.javafx.impl.common;
+
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.scene.control.TreeItem;
+import it.tidalwave.util.ContextManager;
+import it.tidalwave.role.impl.DefaultContextManagerProvider;
+import it.tidalwave.role.spi.SystemRoleFactory;
+import it.tidalwave.ui.core.role.Displayable;
+import it.tidalwave.ui.core.role.PresentationModel;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import static org.mockito.Mockito.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static it.tidalwave.ui.core.role.Displayable._Displayable_;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class TreeItemDelegateSupportTest
+  {
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @BeforeMethod
+    public void setup()
+      {
+        SystemRoleFactory.reset();
+        ContextManager.set(new DefaultContextManagerProvider());
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_reuse_matched_items_with_the_new_PresentationModel()
+      {
+        // given
+        final var owner1 = new Object();
+        final var owner2 = new Object();
+        final var oldPm1 = PresentationModel.of(owner1, Displayable.of("old name"));
+        final var oldPm2 = PresentationModel.of(owner2, Displayable.of("unchanged"));
+        final var newPm1 = PresentationModel.of(owner1, Displayable.of("new name"));
+        final var newPm3 = PresentationModel.of(new Object(), Displayable.of("added"));
+        final var item1 = new TreeItem<>(oldPm1);
+        final var item2 = new TreeItem<>(oldPm2);
+        final var oldItems = List.of(item1, item2);
+        final var newPms = List.of(oldPm2, newPm1, newPm3);
+        final var matches = ChildrenDiff.match(List.of(owner1, owner2), List.of(owner2, owner1, newPm3.maybeOwner().get()));
+        final var obsoletePms = new ArrayList<PresentationModel>();
+        // when
+        final var actual = TreeItemDelegateSupport.reuseOrCreate(oldItems, matches, newPms, TreeItem::new, obsoletePms);
+        // then
+        assertThat(actual.size(), is(3));
+        assertThat(actual.get(0), is(sameInstance(item2)));
+        assertThat(actual.get(1), is(sameInstance(item1)));
+        assertThat(actual.get(1).getValue(), is(sameInstance(newPm1)));
+        assertThat(actual.get(1).getValue().as(_Displayable_).getDisplayName(), is("new name"));
+        assertThat(actual.get(0).getValue(), is(sameInstance(oldPm2)));
+        assertThat(actual.get(2).getValue(), is(sameInstance(newPm3)));
+        assertThat(obsoletePms, is(List.of(oldPm1)));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_move_the_children_listener_to_the_new_PresentationModel()
+      {
+        // given
+        final var owner = new Object();
+        final var oldPm = PresentationModel.of(owner);
+        final var newPm = PresentationModel.of(owner);
+        final var item = new TreeItem<>(oldPm);
+        final var listener = mock(PropertyChangeListener.class);
+        TreeItemDelegateSupport.bindChildrenListener(item, listener);
+        // when
+        item.setValue(newPm);
+        // then
+        assertThat(List.of(oldPm.getPropertyChangeListeners(PresentationModel.PROPERTY_CHILDREN)).contains(listener), is(false));
+        assertThat(List.of(newPm.getPropertyChangeListeners(PresentationModel.PROPERTY_CHILDREN)).contains(listener), is(true));
+      }
+
+    /***********************************************************************************************************************************************************
+     *
+     **********************************************************************************************************************************************************/
+    @Test
+    public void must_not_match_detached_items()
+      {
+        // given
+        final var owner = new Object();
+        final var attached = new TreeItem<>(PresentationModel.of(owner, Displayable.of("attached")));
+        final var detached = new TreeItem<PresentationModel>(null);
+        // when
+        final var keys = TreeItemDelegateSupport.keysOf(List.of(attached, detached));
+        final var matches = ChildrenDiff.match(keys, List.of(owner));
+        // then
+        assertThat(keys, is(List.of(owner, detached)));
+        assertThat(matches[0], is(0));
+      }
+  }
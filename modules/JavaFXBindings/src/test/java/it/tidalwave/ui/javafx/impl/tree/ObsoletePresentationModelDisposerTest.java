@@ -31,10 +31,11 @@ import java.util.List;
 import javafx.scene.control.TreeItem;
 import it.tidalwave.role.spi.SystemRoleFactory;
 import it.tidalwave.ui.core.role.PresentationModel;
+import it.tidalwave.ui.javafx.impl.util.LaneExecutor;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import static org.mockito.Mockito.*;
-import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 /***************************************************************************************************************************************************************
@@ -72,6 +73,74 @@ public class ObsoletePresentationModelDisposerTest
           }
       }
 
+    @Test
+    public void changed_must_dispose_in_bounded_batches_with_the_executor()
+      {
+        // given
+        final List<Runnable> tasks = new ArrayList<>();
+        underTest = new ObsoletePresentationModelDisposer(tasks::add, 10);
+        final var treeItem = createTreeItemWithChildren(0);
+        // when
+        underTest.changed(null, treeItem, null);
+        // then
+        assertThat(tasks.size(), is(9));
+        assertThat(treeItem.getValue(), is(nullValue()));
+        verify(allPMs.get(0), never()).dispose();
+        // when
+        tasks.forEach(Runnable::run);
+        // then
+        allPMs.forEach(pm -> verify(pm).dispose());
+        assertThat(underTest.getDisposedCount(), is(85L));
+        assertThat(underTest.getBatchCount(), is(9L));
+      }
+
+    @Test
+    public void changed_must_dispose_in_a_dedicated_lane()
+      {
+        // given
+        final List<Runnable> tasks = new ArrayList<>();
+        final var executor = new LaneExecutor(tasks::add);
+        underTest = new ObsoletePresentationModelDisposer(executor, 10);
+        final var treeItem = createTreeItemWithChildren(0);
+        executor.execute(() -> {});
+        // when
+        underTest.changed(null, treeItem, null);
+        // then
+        assertThat(executor.getActiveLaneCount(), is(2));
+        // when
+        while (!tasks.isEmpty())
+          {
+            tasks.remove(0).run();
+          }
+        // then
+        allPMs.forEach(pm -> verify(pm).dispose());
+        assertThat(executor.getActiveLaneCount(), is(0));
+      }
+
+    @Test
+    public void changed_must_not_overflow_the_stack_with_deep_trees()
+      {
+        // given
+        TreeItem<PresentationModel> treeItem = null;
+
+        for (var i = 0; i < 20_000; i++)
+          {
+            final var parent = new TreeItem<>(mock(PresentationModel.class));
+
+            if (treeItem != null)
+              {
+                parent.getChildren().add(treeItem);
+              }
+
+            treeItem = parent;
+          }
+
+        // when
+        underTest.changed(null, treeItem, null);
+        // then
+        assertThat(underTest.getDisposedCount(), is(20_000L));
+      }
+
     @Nonnull
     private TreeItem<PresentationModel> createTreeItemWithChildren (final int level)
       {
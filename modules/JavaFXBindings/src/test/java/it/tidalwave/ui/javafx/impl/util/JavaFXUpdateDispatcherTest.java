@@ -0,0 +1,145 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.javafx.impl.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class JavaFXUpdateDispatcherTest
+  {
+    private List<Runnable> posted;
+
+    private List<String> log;
+
+    @BeforeMethod
+    public void setup()
+      {
+        posted = new ArrayList<>();
+        log = new ArrayList<>();
+      }
+
+    @Test
+    public void must_post_a_single_drain_for_a_burst_of_updates()
+      {
+        // given
+        final var underTest = new JavaFXUpdateDispatcher(posted::add, Duration.ofSeconds(10));
+        // when
+        for (var i = 0; i < 100; i++)
+          {
+            final var n = i;
+            underTest.submit(() -> log.add("u" + n));
+          }
+
+        // then
+        assertThat(posted.size(), is(1));
+        assertThat(underTest.getQueueDepth(), is(100));
+        posted.remove(0).run();
+        assertThat(log.size(), is(100));
+        assertThat(log.get(0), is("u0"));
+        assertThat(log.get(99), is("u99"));
+        assertThat(underTest.getQueueDepth(), is(0));
+        assertThat(posted.isEmpty(), is(true));
+      }
+
+    @Test
+    public void must_merge_updates_with_the_same_key_keeping_their_position()
+      {
+        // given
+        final var underTest = new JavaFXUpdateDispatcher(posted::add, Duration.ofSeconds(10));
+        final var key1 = new Object();
+        final var key2 = new Object();
+        // when
+        underTest.submit(key1, () -> log.add("k1-a"));
+        underTest.submit(() -> log.add("plain"));
+        underTest.submit(key2, () -> log.add("k2-a"));
+        underTest.submit(key1, () -> log.add("k1-b"));
+        underTest.submit(key1, () -> log.add("k1-c"));
+        posted.remove(0).run();
+        // then
+        assertThat(log, is(List.of("k1-c", "plain", "k2-a")));
+        assertThat(underTest.getSubmittedCount(), is(5L));
+        assertThat(underTest.getMergedCount(), is(2L));
+      }
+
+    @Test
+    public void must_not_merge_updates_submitted_after_the_previous_one_ran()
+      {
+        // given
+        final var underTest = new JavaFXUpdateDispatcher(posted::add, Duration.ofSeconds(10));
+        final var key = new Object();
+        underTest.submit(key, () -> log.add("a"));
+        posted.remove(0).run();
+        // when
+        underTest.submit(key, () -> log.add("b"));
+        posted.remove(0).run();
+        // then
+        assertThat(log, is(List.of("a", "b")));
+        assertThat(underTest.getMergedCount(), is(0L));
+        assertThat(underTest.getDrainCount(), is(2L));
+      }
+
+    @Test
+    public void must_defer_remaining_updates_when_the_budget_is_exhausted()
+      {
+        // given
+        final var underTest = new JavaFXUpdateDispatcher(posted::add, Duration.ZERO);
+        underTest.submit(() -> log.add("a"));
+        underTest.submit(() -> log.add("b"));
+        // when
+        posted.remove(0).run();
+        // then
+        assertThat(log, is(List.of("a")));
+        assertThat(underTest.getQueueDepth(), is(1));
+        assertThat(underTest.getDeferredCount(), is(1L));
+        assertThat(posted.size(), is(1));
+        posted.remove(0).run();
+        assertThat(log, is(List.of("a", "b")));
+        assertThat(posted.isEmpty(), is(true));
+      }
+
+    @Test
+    public void must_keep_running_updates_after_a_failure()
+      {
+        // given
+        final var underTest = new JavaFXUpdateDispatcher(posted::add, Duration.ofSeconds(10));
+        underTest.submit(() -> { throw new IllegalStateException("test"); });
+        underTest.submit(() -> log.add("after"));
+        // when
+        posted.remove(0).run();
+        // then
+        assertThat(log, is(List.of("after")));
+      }
+  }
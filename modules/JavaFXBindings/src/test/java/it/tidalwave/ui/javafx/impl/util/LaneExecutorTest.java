@@ -0,0 +1,133 @@
+/*
+ * *************************************************************************************************************************************************************
+ *
+ * SteelBlue: DCI User Interfaces
+ * http://tidalwave.it/projects/steelblue
+ *
+ * Copyright (C) 2015 - 2025 by Tidalwave s.a.s. (http://tidalwave.it)
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied.  See the License for the specific language governing permissions and limitations under the License.
+ *
+ * *************************************************************************************************************************************************************
+ *
+ * git clone https://bitbucket.org/tidalwave/steelblue-src
+ * git clone https://github.com/tidalwave-it/steelblue-src
+ *
+ * *************************************************************************************************************************************************************
+ */
+package it.tidalwave.ui.javafx.impl.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/***************************************************************************************************************************************************************
+ *
+ * @author  Fabrizio Giudici
+ *
+ **************************************************************************************************************************************************************/
+public class LaneExecutorTest
+  {
+    private ExecutorService pool;
+
+    private LaneExecutor underTest;
+
+    @BeforeMethod
+    public void setup()
+      {
+        pool = Executors.newFixedThreadPool(4);
+        underTest = new LaneExecutor(pool);
+      }
+
+    @AfterMethod
+    public void tearDown()
+      {
+        pool.shutdownNow();
+      }
+
+    @Test
+    public void must_keep_fifo_order_within_a_lane()
+      throws Exception
+      {
+        // given
+        final List<Integer> lane1 = Collections.synchronizedList(new ArrayList<>());
+        final List<Integer> lane2 = Collections.synchronizedList(new ArrayList<>());
+        final var latch = new CountDownLatch(2000);
+        // when
+        for (var i = 0; i < 1000; i++)
+          {
+            final var n = i;
+            underTest.execute("lane1", () -> { lane1.add(n); latch.countDown(); });
+            underTest.execute("lane2", () -> { lane2.add(n); latch.countDown(); });
+          }
+
+        // then
+        assertThat(latch.await(10, TimeUnit.SECONDS), is(true));
+        final List<Integer> expected = new ArrayList<>();
+
+        for (var i = 0; i < 1000; i++)
+          {
+            expected.add(i);
+          }
+
+        assertThat(lane1, is(expected));
+        assertThat(lane2, is(expected));
+      }
+
+    @Test
+    public void a_slow_lane_must_not_stall_other_lanes()
+      throws Exception
+      {
+        // given
+        final var blocker = new CountDownLatch(1);
+        final var done = new CountDownLatch(1);
+        underTest.execute("slow", () ->
+          {
+            try
+              {
+                blocker.await();
+              }
+            catch (InterruptedException e)
+              {
+                Thread.currentThread().interrupt();
+              }
+          });
+        // when
+        underTest.execute("fast", done::countDown);
+        // then
+        assertThat(done.await(10, TimeUnit.SECONDS), is(true));
+        blocker.countDown();
+      }
+
+    @Test
+    public void must_retire_idle_lanes()
+      throws Exception
+      {
+        // given
+        final var done = new CountDownLatch(1);
+        // when
+        underTest.execute(new Object(), done::countDown);
+        // then
+        assertThat(done.await(10, TimeUnit.SECONDS), is(true));
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+        assertThat(underTest.getActiveLaneCount(), is(0));
+      }
+  }
@@ -28,14 +28,15 @@ package it.tidalwave.ui.example.presentation.impl;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.PostConstruct;
 import java.util.List;
+import java.util.function.Supplier;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import org.springframework.stereotype.Component;
 import it.tidalwave.util.annotation.VisibleForTesting;
-import it.tidalwave.role.Aggregate;
 import it.tidalwave.ui.core.BoundProperty;
 import it.tidalwave.ui.core.message.PowerOnEvent;
 import it.tidalwave.ui.core.role.Displayable;
+import it.tidalwave.ui.core.role.LazyRole;
 import it.tidalwave.ui.core.MenuBarControl.MenuPlacement;
 import it.tidalwave.ui.core.role.PresentationModel;
 import it.tidalwave.ui.core.role.PresentationModelAggregate;
@@ -55,6 +56,7 @@ import lombok.RequiredArgsConstructor;
 import static it.tidalwave.util.Parameters.r;
 import static it.tidalwave.util.ui.UserNotificationWithFeedback.*;
 import static it.tidalwave.ui.core.role.Presentable._Presentable_;
+import static it.tidalwave.ui.core.role.UserActionProvider._UserActionProvider_;
 import static it.tidalwave.ui.core.role.spi.PresentationModelCollectors.toCompositePresentationModel;
 
 /***************************************************************************************************************************************************************
@@ -176,12 +178,10 @@ public class DefaultMainPanelPresentationControl implements MainPanelPresentatio
     private PresentationModel pmFor (@Nonnull final SimpleEntity entity)
       {
         final Selectable selectable = () -> onSelected(entity);
-        final var action1 = UserAction.of(() -> action1(entity), Displayable.of("Action 1"));
-        final var action2 = UserAction.of(() -> action2(entity), Displayable.of("Action 2"));
-        final var action3 = UserAction.of(() -> action3(entity), Displayable.of("Action 3"));
+        // Actions are only created when needed, e.g. when the context menu is popped up.
         return PresentationModel.of(entity, r(Displayable.of("Item #" + entity.getName()),
                                               selectable,
-                                              UserActionProvider.of(action1, action2, action3)));
+                                              LazyRole.of(_UserActionProvider_, () -> actionsFor(entity))));
       }
     // END SNIPPET: pmSimpleEntity
 
@@ -193,18 +193,31 @@ public class DefaultMainPanelPresentationControl implements MainPanelPresentatio
     private PresentationModel pmFor (@Nonnull final SimpleDciEntity entity)
       {
         // FIXME: column names
-        final Aggregate<PresentationModel> aggregate = PresentationModelAggregate.newInstance()
+        final Supplier<PresentationModelAggregate> aggregate = () -> PresentationModelAggregate.newInstance()
              .withPmOf("C1", r(Displayable.of(entity.getName())))
              .withPmOf("C2", r(Displayable.of("" + entity.getAttribute1())))
              .withPmOf("C3", r(Displayable.of("" + entity.getAttribute2())));
         final Selectable selectable = () -> onSelected(entity);
+        // No explicit Displayable here, as the one inside SimpleDciEntity is used.
+        return PresentationModel.of(entity, r(LazyRole.of(PresentationModelAggregate.class, aggregate),
+                                              selectable,
+                                              LazyRole.of(_UserActionProvider_, () -> actionsFor(entity))));
+      }
+    // END SNIPPET: pmSimpleDciEntity
+
+    /***********************************************************************************************************************************************************
+     * Creates the actions for the context menu of an entity.
+     **********************************************************************************************************************************************************/
+    // START SNIPPET: actionsFor
+    @Nonnull
+    private UserActionProvider actionsFor (@Nonnull final Object entity)
+      {
         final var action1 = UserAction.of(() -> action1(entity), Displayable.of("Action 1"));
         final var action2 = UserAction.of(() -> action2(entity), Displayable.of("Action 2"));
         final var action3 = UserAction.of(() -> action3(entity), Displayable.of("Action 3"));
-        // No explicit Displayable here, as the one inside SimpleDciEntity is used.
-        return PresentationModel.of(entity, r(aggregate, selectable, UserActionProvider.of(action1, action2, action3)));
+        return UserActionProvider.of(action1, action2, action3);
       }
-    // END SNIPPET: pmSimpleDciEntity
+    // END SNIPPET: actionsFor
 
     // Below simple business methods, as per usual business.
 